@@ -0,0 +1,12 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AssetResolveResponse<T> {
+    private List<T> found; // in the order the numbers were requested
+    private List<String> notFound;
+}
@@ -0,0 +1,18 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AssetSearchHitDTO {
+    private String type; // PATENT, TRADEMARK
+    private Long id;
+    private float score;
+    private String assetNumber;
+    private String title;
+    private String jurisdiction;
+    private String status;
+    private String assignee;
+    private LocalDateTime filingDate;
+}
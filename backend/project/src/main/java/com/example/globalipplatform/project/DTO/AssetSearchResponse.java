@@ -0,0 +1,16 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AssetSearchResponse {
+    private List<AssetSearchHitDTO> results;
+    private long totalElements;
+    private int totalPages;
+    private int currentPage;
+    private int pageSize;
+}
@@ -0,0 +1,13 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchSearchRequest {
+    private List<String> queries = new ArrayList<>();
+    private String source = "ALL";
+    private Integer limit; // per query
+}
@@ -0,0 +1,18 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSearchResponse {
+    private List<QueryResultDTO> results; // one per distinct query, in request order
+    private List<SourceStatusDTO> sources; // one per source, covering its whole batch
+    private boolean partial; // true when at least one source is missing from results
+}
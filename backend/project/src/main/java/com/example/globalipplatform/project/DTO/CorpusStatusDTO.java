@@ -0,0 +1,29 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorpusStatusDTO {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private State state;
+    private long seed;
+    private long patents; // requested sizes
+    private long trademarks;
+    private long patentsWritten;
+    private long trademarksWritten;
+    private long partitionsSkipped; // already in the database from an earlier run
+    private long recordsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message; // why the run failed, null otherwise
+}
@@ -0,0 +1,19 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FederatedSearchResponse {
+    private List<IPDataDTO> results; // best merged results first, from the sources that answered in time
+    private int totalResults; // distinct results before the cut to the requested limit
+    private List<SourceStatusDTO> sources;
+    private boolean partial; // true when at least one source is missing from results
+}
@@ -6,9 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class IPDataDTO {
@@ -22,4 +23,7 @@ public class IPDataDTO {
     private String source; // WIPO, USPTO, EPO, TMView
     private String type; // PATENT, TRADEMARK
     private String detailUrl;
+    private String familyId; // patent family shared by filings of the same invention at different offices
+    private Double score; // relevance of the merged result, set by the federated search
+    private List<String> alsoFoundIn; // other sources that returned the same application or family
 }
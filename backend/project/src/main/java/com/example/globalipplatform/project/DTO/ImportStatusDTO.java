@@ -0,0 +1,29 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportStatusDTO {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private String file;
+    private String format;
+    private State state;
+    private long resumedFrom; // records committed by an earlier run and skipped this time
+    private long recordsRead;
+    private long recordsWritten;
+    private long rejected; // malformed or unmappable records
+    private long recordsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message; // why the import failed, null otherwise
+}
@@ -0,0 +1,15 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+public class PatentFacetsDTO {
+    private Map<String, Long> jurisdictions = new LinkedHashMap<>();
+    private Map<String, Long> statuses = new LinkedHashMap<>();
+    private Map<String, Long> technologies = new LinkedHashMap<>();
+    private Map<Integer, Long> years = new TreeMap<>();
+}
@@ -7,8 +7,10 @@ import java.util.List;
 @AllArgsConstructor
 public class PatentSearchResponse {
     private List<PatentDTO> patents;
-    private long totalElements;
-    private int totalPages;
-    private int currentPage;
+    private long totalElements; // -1 when a cursor page did not count the matches
+    private int totalPages; // -1 on cursor pages
+    private int currentPage; // -1 on cursor pages
     private int pageSize;
+    private PatentFacetsDTO facets; // only filled when the caller asks for facets
+    private String nextCursor; // pass back as ?cursor= for the next page; null on the last page
 }
\ No newline at end of file
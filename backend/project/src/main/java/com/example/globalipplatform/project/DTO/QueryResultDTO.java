@@ -0,0 +1,18 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryResultDTO {
+    private String query;
+    private List<IPDataDTO> results; // best merged results first
+    private int totalResults; // distinct results before the cut to the requested limit
+}
@@ -0,0 +1,18 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One provider's answer to a federated search
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourceResultDTO {
+    private SourceStatusDTO status;
+    private List<IPDataDTO> results; // empty unless status is OK
+}
@@ -0,0 +1,22 @@
+package com.example.globalipplatform.project.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourceStatusDTO {
+
+    // REJECTED: bulkhead full; CIRCUIT_OPEN and RATE_LIMITED: the provider was not called at all
+    public enum Status { OK, TIMEOUT, FAILED, REJECTED, CIRCUIT_OPEN, RATE_LIMITED }
+
+    private String source;
+    private Status status;
+    private int resultCount;
+    private long latencyMs;
+    private String message; // why the source did not answer, null when OK
+}
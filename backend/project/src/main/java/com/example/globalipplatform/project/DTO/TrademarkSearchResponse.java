@@ -8,8 +8,9 @@ import java.util.List;
 @AllArgsConstructor
 public class TrademarkSearchResponse {
     private List<TrademarkDTO> trademarks;
-    private long totalElements;
-    private int totalPages;
-    private int currentPage;
+    private long totalElements; // -1 when a cursor page did not count the matches
+    private int totalPages; // -1 on cursor pages
+    private int currentPage; // -1 on cursor pages
     private int pageSize;
+    private String nextCursor; // pass back as ?cursor= for the next page; null on the last page
 }
\ No newline at end of file
@@ -1,24 +1,64 @@
 package com.example.globalipplatform.project.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
-            "patents", 
+    public static final List<String> CACHE_NAMES = List.of(
+            "patents",
             "trademarks",
+            "patentsByNumber",
+            "trademarksByNumber",
+            "patentSearches",
+            "trademarkSearches",
+            "patentFacets",
             "technologies",
             "jurisdictions",
-            "statuses"
-        );
+            "statuses");
+
+    // Caffeine (W-TinyLFU admission) bounded by estimated bytes per cache, with expire-after-write.
+    // recordStats() feeds the cache.gets/cache.evictions meters that actuator registers for each cache.
+    // Caches given off-heap bytes become a TieredCache: the Caffeine bound then applies to its on-heap front.
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties, ObjectMapper objectMapper) {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : CACHE_NAMES) {
+            CacheSpecProperties.Spec spec = properties.specFor(name);
+            if (spec.getOffHeapBytes() > 0) {
+                caches.add(new TieredCache(name, spec, objectMapper));
+            } else {
+                caches.add(new CaffeineCache(name, newBuilder(spec).build()));
+            }
+        }
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public CacheMeterBinderProvider<TieredCache> tieredCacheMeterBinderProvider() {
+        return TieredCacheMetrics::new;
+    }
+
+    private Caffeine<Object, Object> newBuilder(CacheSpecProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumWeight(spec.getMaxWeightBytes())
+                .weigher(ObjectSizeEstimator::estimate)
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .recordStats();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "cache")
+public class CacheSpecProperties {
+    // Bounds per cache name; named caches without an entry use defaults
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+    private Spec defaults = new Spec();
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    public static class Spec {
+        // Estimated bytes of the cached values, not an entry count
+        private long maxWeightBytes = 8 * 1024 * 1024;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        // Above zero, maxWeightBytes bounds a small on-heap front and values are also kept serialized off-heap
+        private long offHeapBytes = 0;
+        private int offHeapBlockBytes = 512;
+
+        public long getMaxWeightBytes() {
+            return maxWeightBytes;
+        }
+
+        public void setMaxWeightBytes(long maxWeightBytes) {
+            this.maxWeightBytes = maxWeightBytes;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+
+        public void setOffHeapBytes(long offHeapBytes) {
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public int getOffHeapBlockBytes() {
+            return offHeapBlockBytes;
+        }
+
+        public void setOffHeapBlockBytes(int offHeapBlockBytes) {
+            this.offHeapBlockBytes = offHeapBlockBytes;
+        }
+    }
+}
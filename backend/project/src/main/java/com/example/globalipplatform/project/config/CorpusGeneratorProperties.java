@@ -0,0 +1,77 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "mock.data.corpus")
+public class CorpusGeneratorProperties {
+    // Generate once the application is ready; otherwise only on POST /api/admin/corpus
+    private boolean enabled = false;
+    private long patents = 10_000_000;
+    private long trademarks = 1_000_000;
+    // Same seed and sizes, same corpus, whatever the thread count
+    private long seed = 42;
+    // Records per partition: one random stream each
+    private int partitionSize = 50_000;
+    // Records per transaction within a partition; each batch is indexed once it has committed
+    private int batchSize = 5_000;
+    // Partitions loaded at once; each holds a pooled connection while it runs
+    private int threads = 4;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getPatents() {
+        return patents;
+    }
+
+    public void setPatents(long patents) {
+        this.patents = patents;
+    }
+
+    public long getTrademarks() {
+        return trademarks;
+    }
+
+    public void setTrademarks(long trademarks) {
+        this.trademarks = trademarks;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    public void setPartitionSize(int partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
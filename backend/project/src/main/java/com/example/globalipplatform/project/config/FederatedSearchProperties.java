@@ -0,0 +1,266 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "ip.federation")
+public class FederatedSearchProperties {
+    // Deadline for a provider without its own entry in timeouts
+    private Duration defaultTimeout = Duration.ofSeconds(2);
+    // Per-provider deadlines keyed by source name, e.g. ip.federation.timeouts.USPTO=3s
+    private Map<String, Duration> timeouts = new LinkedHashMap<>();
+    // Bulkhead per provider: worker threads and calls allowed to wait for one
+    private int threadsPerProvider = 4;
+    private int queueCapacity = 16;
+    // Merged results returned when the client does not ask for a number, and the most it may ask for
+    private int defaultLimit = 50;
+    private int maxLimit = 200;
+    // Queries accepted in one batch search
+    private int maxBatchQueries = 100;
+    private ResultCache resultCache = new ResultCache();
+    private Resilience resilience = new Resilience();
+
+    public Duration timeoutFor(String source) {
+        return timeouts.getOrDefault(source, defaultTimeout);
+    }
+
+    public int limitFor(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public int getThreadsPerProvider() {
+        return threadsPerProvider;
+    }
+
+    public void setThreadsPerProvider(int threadsPerProvider) {
+        this.threadsPerProvider = threadsPerProvider;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getMaxBatchQueries() {
+        return maxBatchQueries;
+    }
+
+    public void setMaxBatchQueries(int maxBatchQueries) {
+        this.maxBatchQueries = maxBatchQueries;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+
+    public static class Resilience {
+        private boolean enabled = true;
+        // Token bucket: calls per second while healthy, the floor it backs off to, and the burst allowed
+        private double ratePerSecond = 20;
+        private double minRatePerSecond = 1;
+        private int burst = 40;
+        // Circuit breaker: opens when failureRateThreshold percent of the last windowSize calls failed,
+        // once at least minimumCalls are known, then probes with halfOpenProbes calls after openDuration
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public double getMinRatePerSecond() {
+            return minRatePerSecond;
+        }
+
+        public void setMinRatePerSecond(double minRatePerSecond) {
+            this.minRatePerSecond = minRatePerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+
+    public static class ResultCache {
+        private boolean enabled = true;
+        // Served as is for fresh, then served while refreshed in the background until maxAge
+        private Duration fresh = Duration.ofMinutes(1);
+        private Duration maxAge = Duration.ofMinutes(15);
+        // How long an empty answer is remembered
+        private Duration negative = Duration.ofSeconds(30);
+        private long maxEntries = 10_000;
+        // Background refresh threads per provider, and refreshes that may wait for one
+        private int refreshThreads = 2;
+        private int refreshQueueCapacity = 32;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getFresh() {
+            return fresh;
+        }
+
+        public void setFresh(Duration fresh) {
+            this.fresh = fresh;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public Duration getNegative() {
+            return negative;
+        }
+
+        public void setNegative(Duration negative) {
+            this.negative = negative;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getRefreshThreads() {
+            return refreshThreads;
+        }
+
+        public void setRefreshThreads(int refreshThreads) {
+            this.refreshThreads = refreshThreads;
+        }
+
+        public int getRefreshQueueCapacity() {
+            return refreshQueueCapacity;
+        }
+
+        public void setRefreshQueueCapacity(int refreshQueueCapacity) {
+            this.refreshQueueCapacity = refreshQueueCapacity;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.globalipplatform.project.config;
+
+import com.example.globalipplatform.project.service.ip.HttpIPSourceProvider;
+import com.example.globalipplatform.project.service.ip.IPSourceProvider;
+import com.example.globalipplatform.project.service.ip.MockOfficeServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ip.providers.mode=http replaces the in-memory providers with HTTP ones; with ip.mock-office.enabled=true
+// and no base URL they call the embedded stand-in office.
+@Configuration
+public class IPProviderConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "ip.mock-office.enabled", havingValue = "true")
+    public MockOfficeServer mockOfficeServer(MockOfficeProperties properties, ObjectMapper objectMapper) {
+        return new MockOfficeServer(properties, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ip.providers.mode", havingValue = "http")
+    public IPSourceProvider httpUsptoProvider(IPProviderProperties properties,
+                                              ObjectProvider<MockOfficeServer> mockOffice, ObjectMapper objectMapper) {
+        return httpProvider("USPTO", properties, mockOffice, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ip.providers.mode", havingValue = "http")
+    public IPSourceProvider httpEpoProvider(IPProviderProperties properties,
+                                            ObjectProvider<MockOfficeServer> mockOffice, ObjectMapper objectMapper) {
+        return httpProvider("EPO", properties, mockOffice, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ip.providers.mode", havingValue = "http")
+    public IPSourceProvider httpWipoProvider(IPProviderProperties properties,
+                                             ObjectProvider<MockOfficeServer> mockOffice, ObjectMapper objectMapper) {
+        return httpProvider("WIPO", properties, mockOffice, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ip.providers.mode", havingValue = "http")
+    public IPSourceProvider httpTmViewProvider(IPProviderProperties properties,
+                                               ObjectProvider<MockOfficeServer> mockOffice, ObjectMapper objectMapper) {
+        return httpProvider("TMView", properties, mockOffice, objectMapper);
+    }
+
+    private IPSourceProvider httpProvider(String source, IPProviderProperties properties,
+                                          ObjectProvider<MockOfficeServer> mockOffice, ObjectMapper objectMapper) {
+        String baseUrl = properties.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            MockOfficeServer server = mockOffice.getIfAvailable();
+            if (server == null) {
+                throw new IllegalStateException("ip.providers.base-url is required unless ip.mock-office.enabled=true");
+            }
+            baseUrl = server.getBaseUrl();
+        }
+        return new HttpIPSourceProvider(source, baseUrl, properties.getConnectTimeout(), objectMapper);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "ip.providers")
+public class IPProviderProperties {
+    // "in-memory" for the built-in sample records, "http" to call offices over HTTP
+    private String mode = "in-memory";
+    // Root of the office API in http mode; empty means the embedded stand-in office
+    private String baseUrl = "";
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "ip.import")
+public class ImportProperties {
+    // Bulk data files can only be imported from below this directory
+    private String directory = "imports";
+    // Records per upsert; one checkpoint is written after each committed batch
+    private int batchSize = 1000;
+    // Parsed batches waiting for the writer; the parser blocks once they are all taken
+    private int queueCapacity = 4;
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "ip.mock-office")
+public class MockOfficeProperties {
+    // Starts the stand-in office server inside the application
+    private boolean enabled = false;
+    // 0 picks a free port
+    private int port = 0;
+    private int threads = 32;
+    // Generated records per office; the same seed always produces the same corpora
+    private int corpusSize = 5000;
+    private long seed = 42;
+    // Results returned per query at most, like an office's first result page
+    private int maxResults = 100;
+    // Behaviour per office keyed by source name, e.g. ip.mock-office.offices.EPO.error-rate=0.2;
+    // offices without an entry use defaults
+    private Map<String, Behaviour> offices = new LinkedHashMap<>();
+    private Behaviour defaults = new Behaviour();
+
+    public Behaviour behaviourFor(String source) {
+        return offices.getOrDefault(source, defaults);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getCorpusSize() {
+        return corpusSize;
+    }
+
+    public void setCorpusSize(int corpusSize) {
+        this.corpusSize = corpusSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public Map<String, Behaviour> getOffices() {
+        return offices;
+    }
+
+    public void setOffices(Map<String, Behaviour> offices) {
+        this.offices = offices;
+    }
+
+    public Behaviour getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Behaviour defaults) {
+        this.defaults = defaults;
+    }
+
+    public static class Behaviour {
+        // Response time is log-normal: latencyMedian * e^(latencySigma * N(0,1)); sigma widens the tail,
+        // e.g. 0.5 puts p99 at about 3.2 times the median
+        private Duration latencyMedian = Duration.ofMillis(80);
+        private double latencySigma = 0.5;
+        // Share of requests answered with 503
+        private double errorRate = 0;
+        // Requests per second before answering 429; 0 means unlimited
+        private double ratePerSecond = 0;
+
+        public Duration getLatencyMedian() {
+            return latencyMedian;
+        }
+
+        public void setLatencyMedian(Duration latencyMedian) {
+            this.latencyMedian = latencyMedian;
+        }
+
+        public double getLatencySigma() {
+            return latencySigma;
+        }
+
+        public void setLatencySigma(double latencySigma) {
+            this.latencySigma = latencySigma;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.globalipplatform.project.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Rough retained-heap estimate of cached values (DTOs, lists of them, strings) used as the cache weigher.
+// It only needs to be proportional to the real footprint so that weight bounds track memory.
+public final class ObjectSizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 8;
+    private static final String OWN_PACKAGE = "com.example.globalipplatform.project";
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        }
+    };
+
+    private ObjectSizeEstimator() {
+    }
+
+    public static int estimate(Object key, Object value) {
+        long bytes = estimate(key, 0) + estimate(value, 0);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            // String object plus its byte[]; Latin-1 text takes one byte per char
+            return OBJECT_HEADER + 24 + ((String) value).length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Temporal) {
+            return 48;
+        }
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Collection) {
+            long bytes = OBJECT_HEADER + 24;
+            for (Object element : (Collection<?>) value) {
+                bytes += REFERENCE + estimate(element, depth + 1);
+            }
+            return bytes;
+        }
+        if (value instanceof Map) {
+            long bytes = OBJECT_HEADER + 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                bytes += 32 + estimate(entry.getKey(), depth + 1) + estimate(entry.getValue(), depth + 1);
+            }
+            return bytes;
+        }
+        if (!value.getClass().getName().startsWith(OWN_PACKAGE)) {
+            return OBJECT_HEADER + 16;
+        }
+
+        long bytes = OBJECT_HEADER;
+        for (Field field : FIELDS.get(value.getClass())) {
+            if (field.getType().isPrimitive()) {
+                bytes += 8;
+                continue;
+            }
+            bytes += REFERENCE;
+            try {
+                bytes += estimate(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                // counted as a reference only
+            }
+        }
+        return bytes;
+    }
+}
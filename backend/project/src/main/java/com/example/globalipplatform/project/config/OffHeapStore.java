@@ -0,0 +1,131 @@
+package com.example.globalipplatform.project.config;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Fixed-capacity arena of direct ByteBuffers carved into equal blocks. Values are copied in and out as
+// bytes, so the heap only holds the small block lists; the arena itself is allocated once and never collected.
+public class OffHeapStore {
+
+    // Segments stay well below the 2 GB limit of a single ByteBuffer
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    public static final class Slot {
+        private final int[] blocks;
+        private final int length;
+        private boolean freed;
+
+        private Slot(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+
+        public int blockCount() {
+            return blocks.length;
+        }
+    }
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final int[] freeBlocks;
+    private int freeCount;
+    // Readers share the arena; allocation and release are exclusive so a block is never reused mid-read
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OffHeapStore(long capacityBytes, int blockSize) {
+        this.blockSize = blockSize;
+        this.blocksPerSegment = SEGMENT_BYTES / blockSize;
+        int totalBlocks = (int) Math.min(capacityBytes / blockSize, Integer.MAX_VALUE);
+
+        for (int allocated = 0; allocated < totalBlocks; allocated += blocksPerSegment) {
+            int blocks = Math.min(blocksPerSegment, totalBlocks - allocated);
+            segments.add(ByteBuffer.allocateDirect(blocks * blockSize));
+        }
+        freeBlocks = new int[totalBlocks];
+        for (int i = 0; i < totalBlocks; i++) {
+            freeBlocks[i] = totalBlocks - 1 - i;
+        }
+        freeCount = totalBlocks;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getCapacityBytes() {
+        return (long) freeBlocks.length * blockSize;
+    }
+
+    public long getUsedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) (freeBlocks.length - freeCount) * blockSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Null when the arena has too few free blocks left
+    public Slot write(byte[] data) {
+        int needed = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        lock.writeLock().lock();
+        try {
+            if (needed > freeCount) {
+                return null;
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = freeBlocks[--freeCount];
+                int from = i * blockSize;
+                segment(blocks[i]).put(offset(blocks[i]), data, from, Math.min(blockSize, data.length - from));
+            }
+            return new Slot(blocks, data.length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Null when the slot has been freed in the meantime
+    public byte[] read(Slot slot) {
+        lock.readLock().lock();
+        try {
+            if (slot.freed) {
+                return null;
+            }
+            byte[] data = new byte[slot.length];
+            for (int i = 0; i < slot.blocks.length; i++) {
+                int from = i * blockSize;
+                segment(slot.blocks[i]).get(offset(slot.blocks[i]), data, from, Math.min(blockSize, slot.length - from));
+            }
+            return data;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void free(Slot slot) {
+        lock.writeLock().lock();
+        try {
+            if (slot.freed) {
+                return;
+            }
+            slot.freed = true;
+            for (int block : slot.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ByteBuffer segment(int block) {
+        return segments.get(block / blocksPerSegment);
+    }
+
+    private int offset(int block) {
+        return (block % blocksPerSegment) * blockSize;
+    }
+}
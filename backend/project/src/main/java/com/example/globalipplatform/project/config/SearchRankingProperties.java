@@ -0,0 +1,55 @@
+package com.example.globalipplatform.project.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "search.ranking")
+public class SearchRankingProperties {
+    // Per-field query weights; fields missing here are not searched by free text
+    private Map<String, Float> boosts = new LinkedHashMap<>(Map.of(
+            "title", 3.0f,
+            "abstract", 1.0f,
+            "assignee", 1.5f,
+            "inventors", 1.0f,
+            "niceClasses", 1.0f));
+    private float bm25K1 = 1.2f;
+    private float bm25B = 0.75f;
+    // AND: every term must match in at least one field; OR: any term may match
+    private String defaultOperator = "AND";
+
+    public Map<String, Float> getBoosts() {
+        return boosts;
+    }
+
+    public void setBoosts(Map<String, Float> boosts) {
+        this.boosts = boosts;
+    }
+
+    public float getBm25K1() {
+        return bm25K1;
+    }
+
+    public void setBm25K1(float bm25K1) {
+        this.bm25K1 = bm25K1;
+    }
+
+    public float getBm25B() {
+        return bm25B;
+    }
+
+    public void setBm25B(float bm25B) {
+        this.bm25B = bm25B;
+    }
+
+    public String getDefaultOperator() {
+        return defaultOperator;
+    }
+
+    public void setDefaultOperator(String defaultOperator) {
+        this.defaultOperator = defaultOperator;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.globalipplatform.project.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+// Two-level cache: a small on-heap Caffeine L1 of live objects in front of an off-heap L2 that keeps
+// JSON-serialized values in an OffHeapStore. L2 holds the bulk of the entries without adding to GC work;
+// an L2 hit is deserialized once and promoted to L1.
+// Both levels expire a value expireAfterWrite after it was put; a promoted value keeps its original write time,
+// so it lives in L1 only for what is left of that.
+public class TieredCache extends AbstractValueAdaptingCache {
+
+    private static final class Entry {
+        private final Class<?> type;
+        private final OffHeapStore.Slot slot;
+        private final long writtenAt;
+
+        private Entry(Class<?> type, OffHeapStore.Slot slot, long writtenAt) {
+            this.type = type;
+            this.slot = slot;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private static final class Held {
+        private final Object value;
+        private final long writtenAt;
+
+        private Held(Object value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    // Expires an entry a fixed time after its value was written; reads and re-puts of the same write keep the deadline
+    private static final class SinceWrite<V> implements Expiry<Object, V> {
+        private final long ttlNanos;
+        private final ToLongFunction<V> writtenAt;
+
+        private SinceWrite(long ttlNanos, ToLongFunction<V> writtenAt) {
+            this.ttlNanos = ttlNanos;
+            this.writtenAt = writtenAt;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, V value, long currentTime) {
+            return ttlNanos - (currentTime - writtenAt.applyAsLong(value));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final int EVICTION_BATCH = 8;
+
+    private final String name;
+    private final Cache<Object, Held> l1;
+    private final Cache<Object, Entry> l2;
+    private final OffHeapStore store;
+    private final ObjectMapper objectMapper;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TieredCache(String name, CacheSpecProperties.Spec spec, ObjectMapper objectMapper) {
+        super(false);
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.store = new OffHeapStore(spec.getOffHeapBytes(), spec.getOffHeapBlockBytes());
+        long ttl = spec.getExpireAfterWrite().toNanos();
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaxWeightBytes())
+                .weigher((Object key, Held held) -> ObjectSizeEstimator.estimate(key, held.value))
+                .expireAfter(new SinceWrite<Held>(ttl, held -> held.writtenAt))
+                .build();
+        // The index is bounded by the arena's size, so eviction frees blocks before the arena runs out.
+        // Removal runs on the calling thread so blocks are back in the free list when put() returns.
+        this.l2 = Caffeine.newBuilder()
+                .maximumWeight(store.getCapacityBytes())
+                .weigher((Object key, Entry entry) -> entry.slot.blockCount() * store.getBlockSize())
+                .expireAfter(new SinceWrite<Entry>(ttl, entry -> entry.writtenAt))
+                .executor(Runnable::run)
+                .removalListener((Object key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        store.free(entry.slot);
+                    }
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Held held = l1.getIfPresent(key);
+        if (held == null) {
+            held = readL2(key);
+            if (held != null) {
+                l1.put(key, held);
+            }
+        }
+        if (held != null) {
+            hits.increment();
+            return held.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    // L1's per-key compute lets concurrent misses on the same key load once
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        Held held = l1.get(key, k -> {
+            Held stored = readL2(k);
+            if (stored != null) {
+                return stored;
+            }
+            loaded[0] = true;
+            try {
+                Object computed = valueLoader.call();
+                long now = System.nanoTime();
+                writeL2(k, computed, now);
+                return new Held(computed, now);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+        if (loaded[0]) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return (T) held.value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        long now = System.nanoTime();
+        l1.put(key, new Held(value, now));
+        writeL2(key, value, now);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l1.invalidate(key);
+        l2.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        l2.invalidateAll();
+    }
+
+    public long size() {
+        return l2.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getL2HitCount() {
+        return l2Hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getOffHeapUsedBytes() {
+        return store.getUsedBytes();
+    }
+
+    private Held readL2(Object key) {
+        Entry entry = l2.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        byte[] bytes = store.read(entry.slot);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            Object value = objectMapper.readValue(bytes, entry.type);
+            l2Hits.increment();
+            return new Held(value, entry.writtenAt);
+        } catch (IOException e) {
+            l2.invalidate(key);
+            return null;
+        }
+    }
+
+    // Values that cannot be serialized, or that do not fit the arena, stay in L1 only
+    private void writeL2(Object key, Object value, long writtenAt) {
+        puts.increment();
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            System.err.println("Cache " + name + ": value not serializable, kept on heap only: " + e.getMessage());
+            return;
+        }
+        OffHeapStore.Slot slot = store.write(bytes);
+        while (slot == null) {
+            // Arena full: drop the entries the eviction policy would pick first until the value fits
+            Map<Object, Entry> coldest = l2.policy().eviction()
+                    .map(eviction -> eviction.coldest(EVICTION_BATCH))
+                    .orElse(Map.of());
+            if (coldest.isEmpty()) {
+                l2.invalidate(key);
+                return;
+            }
+            for (Object coldKey : coldest.keySet()) {
+                l2.invalidate(coldKey);
+                evictions.increment();
+            }
+            slot = store.write(bytes);
+        }
+        l2.put(key, new Entry(value.getClass(), slot, writtenAt));
+    }
+}
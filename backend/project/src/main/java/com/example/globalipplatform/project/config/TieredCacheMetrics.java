@@ -0,0 +1,59 @@
+package com.example.globalipplatform.project.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+// Standard cache.gets/puts/evictions/size meters for a TieredCache, plus L2 hits and off-heap bytes
+public class TieredCacheMetrics extends CacheMeterBinder<TieredCache> {
+
+    public TieredCacheMetrics(TieredCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        TieredCache cache = getCache();
+        return cache != null ? cache.size() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        TieredCache cache = getCache();
+        return cache != null ? cache.getHitCount() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        TieredCache cache = getCache();
+        return cache != null ? cache.getMissCount() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TieredCache cache = getCache();
+        return cache != null ? cache.getEvictionCount() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        TieredCache cache = getCache();
+        return cache != null ? cache.getPutCount() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        TieredCache cache = getCache();
+        FunctionCounter.builder("cache.l2.hits", cache, TieredCache::getL2HitCount)
+                .tags(getTagsWithCacheName())
+                .description("Hits served from the off-heap level")
+                .register(registry);
+        Gauge.builder("cache.offheap.used", cache, TieredCache::getOffHeapUsedBytes)
+                .tags(getTagsWithCacheName())
+                .baseUnit("bytes")
+                .description("Off-heap bytes held by cached values")
+                .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.globalipplatform.project.controller;
+
+import com.example.globalipplatform.project.DTO.CorpusStatusDTO;
+import com.example.globalipplatform.project.service.SyntheticCorpusGenerator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/corpus")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminCorpusController {
+
+    private final SyntheticCorpusGenerator corpusGenerator;
+
+    public AdminCorpusController(SyntheticCorpusGenerator corpusGenerator) {
+        this.corpusGenerator = corpusGenerator;
+    }
+
+    // Generates a synthetic corpus in the background; omitted values come from mock.data.corpus.*
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> generate(
+            @RequestParam(value = "patents", required = false) Long patents,
+            @RequestParam(value = "trademarks", required = false) Long trademarks,
+            @RequestParam(value = "seed", required = false) Long seed) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(corpusGenerator.start(patents, trademarks, seed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CorpusStatusDTO> status() {
+        CorpusStatusDTO status = corpusGenerator.status();
+        return status == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(status);
+    }
+}
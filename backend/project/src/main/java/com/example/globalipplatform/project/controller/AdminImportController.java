@@ -0,0 +1,46 @@
+package com.example.globalipplatform.project.controller;
+
+import com.example.globalipplatform.project.DTO.ImportStatusDTO;
+import com.example.globalipplatform.project.service.importer.AssetImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminImportController {
+
+    private final AssetImportService assetImportService;
+
+    public AdminImportController(AssetImportService assetImportService) {
+        this.assetImportService = assetImportService;
+    }
+
+    // Starts loading a bulk data file from the import directory; poll GET for progress
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> start(
+            @RequestParam("file") String file,
+            @RequestParam(value = "format", required = false) String format) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(assetImportService.start(file, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportStatusDTO> status() {
+        ImportStatusDTO status = assetImportService.status();
+        return status == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.globalipplatform.project.controller;
+
+import com.example.globalipplatform.project.DTO.AssetSearchResponse;
+import com.example.globalipplatform.project.service.IPService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ip/assets")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AssetSearchController {
+
+    @Autowired
+    private IPService ipService;
+
+    // Patents and trademarks in one relevance-ranked list
+    @GetMapping("/search")
+    public ResponseEntity<?> searchAssets(
+            @RequestParam("query") String query,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            AssetSearchResponse response = ipService.searchAssets(query, type, PageRequest.of(page, size));
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(503).body(error);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.globalipplatform.project.controller;
 
+import com.example.globalipplatform.project.DTO.BatchSearchRequest;
+import com.example.globalipplatform.project.DTO.BatchSearchResponse;
+import com.example.globalipplatform.project.DTO.FederatedSearchResponse;
 import com.example.globalipplatform.project.DTO.IPDataDTO;
 import com.example.globalipplatform.project.service.ip.IPSearchService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -12,29 +18,93 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class IPSearchController {
 
+    // Upper bound for an open stream; provider deadlines normally end it much sooner
+    private static final long STREAM_TIMEOUT_MS = 30_000;
+
     private final IPSearchService ipSearchService;
 
     public IPSearchController(IPSearchService ipSearchService) {
         this.ipSearchService = ipSearchService;
     }
 
+    // The merged results only, as this endpoint has always returned them; /search/federated adds each
+    // office's status and whether the answer is partial
     @GetMapping("/search")
     public ResponseEntity<List<IPDataDTO>> search(
             @RequestParam("query") String query,
-            @RequestParam(value = "source", defaultValue = "ALL") String source) {
+            @RequestParam(value = "source", defaultValue = "ALL") String source,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        ResponseEntity<FederatedSearchResponse> response = searchFederated(query, source, limit);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(response.getStatusCode()).build();
+        }
+        return ResponseEntity.ok(response.getBody().getResults());
+    }
+
+    @GetMapping("/search/federated")
+    public ResponseEntity<FederatedSearchResponse> searchFederated(
+            @RequestParam("query") String query,
+            @RequestParam(value = "source", defaultValue = "ALL") String source,
+            @RequestParam(value = "limit", required = false) Integer limit) {
 
         System.out.println("=== Global IP Search Request ===");
         System.out.println("Query: " + query);
         System.out.println("Source: " + source);
 
         try {
-            List<IPDataDTO> results = ipSearchService.search(query, source);
-            System.out.println("Found " + results.size() + " results");
-            return ResponseEntity.ok(results);
+            FederatedSearchResponse response = ipSearchService.search(query, source, limit);
+            System.out.println("Found " + response.getTotalResults() + " results, returning "
+                    + response.getResults().size()
+                    + (response.isPartial() ? " (partial)" : ""));
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             System.err.println("Search failed: " + e.getMessage());
             e.printStackTrace();
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    // Several queries in one request; each office is asked once for all of them
+    @PostMapping("/search/batch")
+    public ResponseEntity<?> searchBatch(@RequestBody BatchSearchRequest request) {
+        try {
+            BatchSearchResponse response = ipSearchService.searchBatch(request.getQueries(), request.getSource(),
+                    request.getLimit());
+            System.out.println("Batch search: " + response.getResults().size() + " queries"
+                    + (response.isPartial() ? " (partial)" : ""));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Server-Sent Events: one "source" event per provider as soon as it answers or times out,
+    // then a "done" event with every source's status. The first results arrive with the fastest provider.
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter searchStream(
+            @RequestParam("query") String query,
+            @RequestParam(value = "source", defaultValue = "ALL") String source,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        ipSearchService.stream(query, source, limit, result -> {
+            try {
+                emitter.send(SseEmitter.event().name("source").data(result, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the remaining providers still finish on their own deadlines
+            }
+        }).whenComplete((summary, error) -> {
+            try {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                    return;
+                }
+                emitter.send(SseEmitter.event().name("done").data(summary, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+            }
+        });
+        return emitter;
+    }
 }
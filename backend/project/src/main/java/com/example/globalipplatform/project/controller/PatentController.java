@@ -1,6 +1,8 @@
 package com.example.globalipplatform.project.controller;
 
+import com.example.globalipplatform.project.DTO.AssetResolveResponse;
 import com.example.globalipplatform.project.DTO.PatentDTO;
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
 import com.example.globalipplatform.project.DTO.PatentSearchRequest;
 import com.example.globalipplatform.project.DTO.PatentSearchResponse;
 import com.example.globalipplatform.project.service.IPService;
@@ -21,6 +23,8 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class PatentController {
 
+    private static final int MAX_RESOLVE_NUMBERS = 1000;
+
     @Autowired
     private IPService ipService;
 
@@ -30,7 +34,9 @@ public class PatentController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) String cursor) {
 
          
         try {
@@ -45,7 +51,7 @@ public class PatentController {
                                sortBy != null ? sortBy : "filingDate");
             Pageable pageable = PageRequest.of(page, size, sort);
             
-            PatentSearchResponse response = ipService.searchPatents(request, pageable);
+            PatentSearchResponse response = ipService.searchPatents(request, pageable, facets, cursor);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             e.printStackTrace();
@@ -56,6 +62,23 @@ public class PatentController {
 
     }
 
+    // Jurisdiction, status, technology and year counts for a search in one request
+    @PostMapping("/facets")
+    public ResponseEntity<?> getFacets(@RequestBody(required = false) PatentSearchRequest request) {
+        try {
+            if (request == null) {
+                request = new PatentSearchRequest();
+            }
+            PatentFacetsDTO facets = ipService.getPatentFacets(request);
+            return ResponseEntity.ok(facets);
+        } catch (Exception e) {
+            e.printStackTrace();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getPatentById(@PathVariable Long id) {
@@ -82,6 +105,19 @@ public class PatentController {
         }
     }
 
+    // Resolves up to MAX_RESOLVE_NUMBERS patent numbers in one round trip
+    @PostMapping("/resolve")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> resolvePatentNumbers(@RequestBody List<String> patentNumbers) {
+        if (patentNumbers.size() > MAX_RESOLVE_NUMBERS) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "At most " + MAX_RESOLVE_NUMBERS + " numbers per request");
+            return ResponseEntity.badRequest().body(error);
+        }
+        AssetResolveResponse<PatentDTO> response = ipService.resolvePatentNumbers(patentNumbers);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/test")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, String>> testEndpoint() {
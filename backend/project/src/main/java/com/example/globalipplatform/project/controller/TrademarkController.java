@@ -1,5 +1,6 @@
 package com.example.globalipplatform.project.controller;
 
+import com.example.globalipplatform.project.DTO.AssetResolveResponse;
 import com.example.globalipplatform.project.DTO.TrademarkDTO;
 import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
 import com.example.globalipplatform.project.DTO.TrademarkSearchResponse;
@@ -9,32 +10,44 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/ip/trademarks")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TrademarkController {
 
+    private static final int MAX_RESOLVE_NUMBERS = 1000;
+
     @Autowired
     private IPService ipService;
 
     @PostMapping("/search")
-    public ResponseEntity<TrademarkSearchResponse> searchTrademarks(
+    public ResponseEntity<?> searchTrademarks(
             @RequestBody TrademarkSearchRequest request,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortOrder), 
                            sortBy != null ? sortBy : "filingDate");
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        TrademarkSearchResponse response = ipService.searchTrademarks(request, pageable);
-        return ResponseEntity.ok(response);
+        try {
+            TrademarkSearchResponse response = ipService.searchTrademarks(request, pageable, cursor);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
     @GetMapping("/{id}")
@@ -49,6 +62,19 @@ public class TrademarkController {
         return ResponseEntity.ok(trademark);
     }
 
+    // Resolves up to MAX_RESOLVE_NUMBERS trademark numbers in one round trip
+    @PostMapping("/resolve")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> resolveTrademarkNumbers(@RequestBody List<String> trademarkNumbers) {
+        if (trademarkNumbers.size() > MAX_RESOLVE_NUMBERS) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "At most " + MAX_RESOLVE_NUMBERS + " numbers per request");
+            return ResponseEntity.badRequest().body(error);
+        }
+        AssetResolveResponse<TrademarkDTO> response = ipService.resolveTrademarkNumbers(trademarkNumbers);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/jurisdictions")
     public ResponseEntity<List<String>> getAllJurisdictions() {
         return ResponseEntity.ok(ipService.getAllTrademarkJurisdictions());
@@ -2,14 +2,26 @@ package com.example.globalipplatform.project.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Data
 @MappedSuperclass
+@EntityListeners(IpAssetChangeListener.class)
 public abstract class IpAsset {
-    
+
+    // Ids come from one pooled sequence shared by patents and trademarks. Each nextval reserves
+    // ID_ALLOCATION ids starting at the returned value (pooled-lo), so Hibernate can batch inserts and
+    // BulkIngestionService can number COPY rows without a round trip per row.
+    public static final String ID_SEQUENCE = "ip_asset_seq";
+    public static final int ID_ALLOCATION = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION)
     private Long id;
     
     @Column(length = 255)
@@ -62,4 +74,33 @@ public abstract class IpAsset {
     
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Asset number as last read from the database, so caches keyed by the old number can be evicted after a renumbering
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String loadedAssetNumber;
+
+    // Jurisdiction, status and technology as last read from the database; the value lists cached from all
+    // rows only need to start over when one of them changes
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private List<String> loadedAggregateValues;
+
+    @PostLoad
+    protected void rememberLoadedValues() {
+        loadedAssetNumber = assetNumber;
+        loadedAggregateValues = aggregateValues();
+    }
+
+    public List<String> aggregateValues() {
+        return Arrays.asList(jurisdiction, status, technology);
+    }
+
+    // Lets the search index pick up rows changed since its last commit
+    @PreUpdate
+    protected void touchUpdatedAt() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
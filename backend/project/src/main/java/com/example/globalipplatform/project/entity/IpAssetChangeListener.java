@@ -0,0 +1,42 @@
+package com.example.globalipplatform.project.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// Hibernate resolves entity listeners through the Spring bean container, so this is a regular bean.
+// Events are published synchronously at flush time, before the transaction has committed; each listener
+// decides when to act. CacheInvalidationListener binds a TransactionSynchronization to the running
+// transaction and evicts in its afterCommit (nothing on rollback), or at once when no transaction is
+// active. SearchIndexService uses @TransactionalEventListener(fallbackExecution = true): after commit
+// inside a transaction, immediately outside one.
+@Component
+public class IpAssetChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public IpAssetChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(IpAsset asset) {
+        // New rows have no loaded values, so they count as an aggregate change
+        boolean aggregatesChanged = !asset.aggregateValues().equals(asset.getLoadedAggregateValues());
+        eventPublisher.publishEvent(new IpAssetChangedEvent(
+                asset.getClass(), asset.getId(), asset.getAssetNumber(), asset.getLoadedAssetNumber(),
+                IpAssetChangedEvent.Action.SAVED, aggregatesChanged));
+        asset.setLoadedAssetNumber(asset.getAssetNumber());
+        asset.setLoadedAggregateValues(asset.aggregateValues());
+    }
+
+    @PostRemove
+    public void onRemove(IpAsset asset) {
+        eventPublisher.publishEvent(new IpAssetChangedEvent(
+                asset.getClass(), asset.getId(), asset.getAssetNumber(), asset.getLoadedAssetNumber(),
+                IpAssetChangedEvent.Action.DELETED, true));
+    }
+}
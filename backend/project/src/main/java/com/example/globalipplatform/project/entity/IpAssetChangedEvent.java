@@ -0,0 +1,18 @@
+package com.example.globalipplatform.project.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IpAssetChangedEvent {
+
+    public enum Action { SAVED, DELETED }
+
+    private Class<? extends IpAsset> assetType;
+    private Long id;
+    private String assetNumber;
+    private String previousAssetNumber; // number before this change, null for new rows
+    private Action action;
+    private boolean aggregatesChanged; // jurisdiction, status or technology added, removed or changed
+}
@@ -0,0 +1,14 @@
+package com.example.globalipplatform.project.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published after rows were written past JPA (no per-row IpAssetChangedEvent), so caches and the search
+// index catch up in one step once the load commits
+@Data
+@AllArgsConstructor
+public class IpAssetsBulkLoadedEvent {
+    private Class<? extends IpAsset> assetType;
+    private long count;
+    private boolean indexed; // true when the loader brings the search index up to date itself
+}
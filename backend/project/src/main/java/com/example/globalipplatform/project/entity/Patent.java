@@ -9,7 +9,13 @@ import java.util.List;
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "patents")
+@Table(name = "patents", indexes = {
+    @Index(name = "idx_patent_number", columnList = "assetNumber", unique = true),
+    @Index(name = "idx_patent_jurisdiction_status_filing", columnList = "jurisdiction, status, filingDate"),
+    @Index(name = "idx_patent_technology", columnList = "technology"),
+    @Index(name = "idx_patent_filing_id", columnList = "filingDate, id"),
+    @Index(name = "idx_patent_updated_id", columnList = "updatedAt, id")
+})
 public class Patent extends IpAsset {
     
     @Column(length = 5000)
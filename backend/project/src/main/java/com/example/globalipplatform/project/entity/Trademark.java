@@ -13,9 +13,12 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Entity
 @Table(name = "trademarks", indexes = {
-    @Index(name = "idx_trademark_number", columnList = "assetNumber"),
+    @Index(name = "idx_trademark_number", columnList = "assetNumber", unique = true),
     @Index(name = "idx_trademark_mark", columnList = "title"),
-    @Index(name = "idx_trademark_owner", columnList = "assignee")
+    @Index(name = "idx_trademark_owner", columnList = "assignee"),
+    @Index(name = "idx_trademark_jurisdiction_status_filing", columnList = "jurisdiction, status, filingDate"),
+    @Index(name = "idx_trademark_filing_id", columnList = "filingDate, id"),
+    @Index(name = "idx_trademark_updated_id", columnList = "updatedAt, id")
 })
 public class Trademark extends IpAsset {
     
@@ -0,0 +1,74 @@
+package com.example.globalipplatform.project.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.dialect.NullOrdering;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+// Keyset pages ordered by (primary, id) in one direction. Where the database puts NULL sort values
+// depends on the dialect (PostgreSQL: above every value, MySQL: below), so the NULL block is either the
+// first or the last segment of the order. The rows after a cursor are at most two segments: the rest of
+// the cursor's own segment (non-null values, or the NULL block by id), then possibly the whole other one.
+public final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+    }
+
+    // Whether rows with a NULL sort value come after all others in this order
+    public static boolean nullsLast(Sort.Order primary, NullOrdering nullOrdering) {
+        switch (nullOrdering) {
+            case FIRST:
+                return false;
+            case LAST:
+                return true;
+            case SMALLEST:
+                return primary.isDescending();
+            default:
+                return primary.isAscending();
+        }
+    }
+
+    // The rest of the cursor's segment after (value, id)
+    public static <T> Specification<T> after(Sort.Order primary, Object value, Long id) {
+        return (root, query, cb) -> {
+            boolean descending = primary.isDescending();
+            Path<Long> idPath = root.get("id");
+            Predicate idBeyond = beyond(cb, idPath, id, descending);
+            if (primary.getProperty().equals("id")) {
+                return idBeyond;
+            }
+
+            Path<Comparable<Object>> field = root.get(primary.getProperty());
+            if (value == null) {
+                return cb.and(cb.isNull(field), idBeyond);
+            }
+            // field > value OR (field = value AND id > lastId); a comparison with NULL is never true,
+            // so NULL rows drop out here
+            return cb.or(
+                    beyond(cb, field, value, descending),
+                    cb.and(cb.equal(field, value), idBeyond));
+        };
+    }
+
+    // The segment that follows the cursor's segment, or null when the cursor's segment is the last one
+    public static <T> Specification<T> following(Sort.Order primary, Object value, boolean nullsLast) {
+        if (primary.getProperty().equals("id")) {
+            return null;
+        }
+        if (value != null && nullsLast) {
+            return (root, query, cb) -> cb.isNull(root.get(primary.getProperty()));
+        }
+        if (value == null && !nullsLast) {
+            return (root, query, cb) -> cb.isNotNull(root.get(primary.getProperty()));
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y extends Comparable<? super Y>> Predicate beyond(CriteriaBuilder cb, Path<Y> path, Object value,
+                                                                    boolean descending) {
+        return descending ? cb.lessThan(path, (Y) value) : cb.greaterThan(path, (Y) value);
+    }
+}
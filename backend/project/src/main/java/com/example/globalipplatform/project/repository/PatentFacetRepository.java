@@ -0,0 +1,10 @@
+package com.example.globalipplatform.project.repository;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import com.example.globalipplatform.project.entity.Patent;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface PatentFacetRepository {
+
+    PatentFacetsDTO countFacets(Specification<Patent> specification);
+}
@@ -0,0 +1,68 @@
+package com.example.globalipplatform.project.repository;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import com.example.globalipplatform.project.entity.Patent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PatentFacetRepositoryImpl implements PatentFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One GROUP BY over (jurisdiction, status, technology, year); the few hundred group rows
+    // are then folded into the four facet maps, instead of one query per facet
+    @Override
+    public PatentFacetsDTO countFacets(Specification<Patent> specification) {
+        // Hibernate's builder for year(), which each dialect renders as extract(year from ...)
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Patent> root = query.from(Patent.class);
+
+        Expression<String> jurisdiction = root.get("jurisdiction");
+        Expression<String> status = root.get("status");
+        Expression<String> technology = root.get("technology");
+        Expression<Integer> year = cb.year(root.get("filingDate"));
+
+        query.multiselect(jurisdiction, status, technology, year, cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(jurisdiction, status, technology, year);
+
+        Map<String, Long> jurisdictions = new HashMap<>();
+        Map<String, Long> statuses = new HashMap<>();
+        Map<String, Long> technologies = new HashMap<>();
+        PatentFacetsDTO facets = new PatentFacetsDTO();
+
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            long count = (Long) row[4];
+            if (row[0] != null) jurisdictions.merge((String) row[0], count, Long::sum);
+            if (row[1] != null) statuses.merge((String) row[1], count, Long::sum);
+            if (row[2] != null) technologies.merge((String) row[2], count, Long::sum);
+            if (row[3] != null) facets.getYears().merge((Integer) row[3], count, Long::sum);
+        }
+
+        putSortedByCount(facets.getJurisdictions(), jurisdictions);
+        putSortedByCount(facets.getStatuses(), statuses);
+        putSortedByCount(facets.getTechnologies(), technologies);
+        return facets;
+    }
+
+    private void putSortedByCount(Map<String, Long> target, Map<String, Long> counts) {
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> target.put(e.getKey(), e.getValue()));
+    }
+}
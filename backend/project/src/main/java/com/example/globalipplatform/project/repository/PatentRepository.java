@@ -4,16 +4,27 @@ import com.example.globalipplatform.project.entity.Patent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PatentRepository extends JpaRepository<Patent, Long> {
+public interface PatentRepository extends JpaRepository<Patent, Long>, JpaSpecificationExecutor<Patent>,
+        PatentFacetRepository {
     
     Patent findByAssetNumber(String assetNumber);
+
+    // Batch resolve; asset_number is unique, so each number matches at most one row
+    List<Patent> findByAssetNumberIn(Collection<String> assetNumbers);
+
+    // The numbers among the given ones that are already taken
+    @Query("SELECT p.assetNumber FROM Patent p WHERE p.assetNumber IN :numbers")
+    List<String> findExistingAssetNumbers(@Param("numbers") Collection<String> numbers);
     
     @Query(value = "SELECT p FROM Patent p WHERE " +
            "(:query IS NULL OR " +
@@ -33,4 +44,15 @@ public interface PatentRepository extends JpaRepository<Patent, Long> {
     List<String> findAllStatuses();
     
     long countByIsCorePatentTrue();
+
+    long countByJurisdiction(String jurisdiction);
+
+    long countByStatus(String status);
+
+    // Keyset batches for the index sync in (updatedAt, id) order; each batch is one range of the (updatedAt, id) index
+    @Query("SELECT p FROM Patent p WHERE (p.updatedAt, p.id) > (:updatedAt, :id) ORDER BY p.updatedAt, p.id LIMIT 500")
+    List<Patent> findSyncBatchAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id);
+
+    @Query("SELECT p.id FROM Patent p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.example.globalipplatform.project.repository;
+
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.entity.Patent;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class PatentSpecifications {
+
+    private static final String WORD_SEPARATORS = ",.;:-/&()+\"";
+
+    private PatentSpecifications() {
+    }
+
+    // Filters only; the free-text query is answered by the search index
+    public static Specification<Patent> filters(PatentSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // jurisdiction, status and filingDate lead idx_patent_jurisdiction_status_filing
+            if (hasText(request.getJurisdiction())) {
+                predicates.add(cb.equal(root.get("jurisdiction"), request.getJurisdiction().trim().toUpperCase()));
+            }
+            if (hasText(request.getStatus())) {
+                predicates.add(cb.equal(root.get("status"), request.getStatus().trim().toUpperCase()));
+            }
+            if (request.getYearFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("filingDate"),
+                        LocalDateTime.of(request.getYearFrom(), 1, 1, 0, 0)));
+            }
+            if (request.getYearTo() != null) {
+                predicates.add(cb.lessThan(root.get("filingDate"),
+                        LocalDateTime.of(request.getYearTo() + 1, 1, 1, 0, 0)));
+            }
+            // Technologies are names rather than codes, so they are compared regardless of case, as in the index
+            if (hasText(request.getTechnology())) {
+                predicates.add(cb.equal(cb.upper(root.get("technology")),
+                        request.getTechnology().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (hasText(request.getAssignee())) {
+                predicates.add(wordPrefixes(cb, root.get("assignee"), request.getAssignee()));
+            }
+            if (hasText(request.getInventor())) {
+                predicates.add(wordPrefixes(cb, root.get("inventors"), request.getInventor()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Filters plus the LIKE text match, used when the search index cannot serve the request
+    public static Specification<Patent> fromRequest(PatentSearchRequest request) {
+        Specification<Patent> textMatch = (root, query, cb) -> {
+            if (!hasText(request.getQuery())) {
+                return cb.conjunction();
+            }
+            String pattern = "%" + request.getQuery().toLowerCase().trim() + "%";
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("abstractText")), pattern),
+                    cb.like(cb.lower(root.get("assignee")), pattern),
+                    cb.like(cb.lower(root.get("inventors")), pattern));
+        };
+        return filters(request).and(textMatch);
+    }
+
+    // Every word of a name filter must start a word of the field, as in the search index: "sam elec" matches
+    // "Samsung Electronics", "sung" does not. Punctuation separates words on both sides.
+    private static Predicate wordPrefixes(CriteriaBuilder cb, Expression<String> field, String filter) {
+        Expression<String> words = cb.concat(" ", cb.function("translate", String.class,
+                cb.lower(field), cb.literal(WORD_SEPARATORS), cb.literal(" ".repeat(WORD_SEPARATORS.length()))));
+        List<Predicate> predicates = new ArrayList<>();
+        for (String word : filter.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}']+")) {
+            if (!word.isEmpty()) {
+                predicates.add(cb.like(words, "% " + word + "%"));
+            }
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -2,19 +2,37 @@ package com.example.globalipplatform.project.repository;
 
 import com.example.globalipplatform.project.entity.Trademark;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TrademarkRepository extends JpaRepository<Trademark, Long> {
+public interface TrademarkRepository extends JpaRepository<Trademark, Long>, JpaSpecificationExecutor<Trademark> {
 
         Trademark findByAssetNumber(String assetNumber);
 
+        // Batch resolve; asset_number is unique, so each number matches at most one row
+        List<Trademark> findByAssetNumberIn(Collection<String> assetNumbers);
+
+        // The numbers among the given ones that are already taken
+        @Query("SELECT t.assetNumber FROM Trademark t WHERE t.assetNumber IN :numbers")
+        List<String> findExistingAssetNumbers(@Param("numbers") Collection<String> numbers);
+
         @Query("SELECT DISTINCT t.jurisdiction FROM Trademark t WHERE t.jurisdiction IS NOT NULL")
         List<String> findAllJurisdictions();
 
         @Query("SELECT DISTINCT t.status FROM Trademark t WHERE t.status IS NOT NULL")
         List<String> findAllStatuses();
+
+        // Keyset batches for the index sync in (updatedAt, id) order; each batch is one range of the (updatedAt, id) index
+        @Query("SELECT t FROM Trademark t WHERE (t.updatedAt, t.id) > (:updatedAt, :id) ORDER BY t.updatedAt, t.id LIMIT 500")
+        List<Trademark> findSyncBatchAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id);
+
+        @Query("SELECT t.id FROM Trademark t WHERE t.id IN :ids")
+        List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
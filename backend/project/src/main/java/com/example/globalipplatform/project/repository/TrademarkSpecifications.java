@@ -0,0 +1,64 @@
+package com.example.globalipplatform.project.repository;
+
+import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
+import com.example.globalipplatform.project.entity.Trademark;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TrademarkSpecifications {
+
+    private TrademarkSpecifications() {
+    }
+
+    // Turns every non-empty filter of the request into a SQL predicate, ANDed together
+    public static Specification<Trademark> fromRequest(TrademarkSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (hasText(request.getQuery())) {
+                String pattern = "%" + request.getQuery().toLowerCase().trim() + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("mark")), pattern),
+                        cb.like(cb.lower(root.get("assignee")), pattern),
+                        cb.like(cb.lower(root.get("goodsServices")), pattern)));
+            }
+            // jurisdiction and status are stored as upper-case codes, so plain equality can use an index
+            if (hasText(request.getJurisdiction())) {
+                predicates.add(cb.equal(root.get("jurisdiction"), request.getJurisdiction().trim().toUpperCase()));
+            }
+            if (hasText(request.getStatus())) {
+                predicates.add(cb.equal(root.get("status"), request.getStatus().trim().toUpperCase()));
+            }
+            if (hasText(request.getOwner())) {
+                predicates.add(cb.like(cb.lower(root.get("assignee")),
+                        "%" + request.getOwner().toLowerCase().trim() + "%"));
+            }
+            if (hasText(request.getNiceClass())) {
+                predicates.add(cb.like(root.get("niceClasses"), "%" + request.getNiceClass().trim() + "%"));
+            }
+            // Year bounds become a half-open filing date range; undated trademarks are kept, as before
+            if (request.getYearFrom() != null) {
+                LocalDateTime from = LocalDateTime.of(request.getYearFrom(), 1, 1, 0, 0);
+                predicates.add(cb.or(
+                        cb.isNull(root.get("filingDate")),
+                        cb.greaterThanOrEqualTo(root.get("filingDate"), from)));
+            }
+            if (request.getYearTo() != null) {
+                LocalDateTime to = LocalDateTime.of(request.getYearTo() + 1, 1, 1, 0, 0);
+                predicates.add(cb.or(
+                        cb.isNull(root.get("filingDate")),
+                        cb.lessThan(root.get("filingDate"), to)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
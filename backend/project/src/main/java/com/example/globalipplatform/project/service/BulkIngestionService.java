@@ -0,0 +1,394 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.IpAssetsBulkLoadedEvent;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Loads large numbers of patents or trademarks past the persistence context: ids are taken a block at a
+// time from the shared sequence, and rows go to PostgreSQL with COPY (multi-row JDBC batches elsewhere).
+// No per-row entity events are raised; one IpAssetsBulkLoadedEvent after commit lets caches and the search
+// index catch up.
+// - ingest*: new rows only; an asset number that already exists fails the whole load.
+// - upsert*: one batch whose rows replace existing ones with the same asset number.
+@Service
+public class BulkIngestionService {
+
+    // Asset numbers per IN list when looking up existing rows
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    @Value("${bulk.ingest.chunk-rows:5000}")
+    private int chunkRows;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Class<?>, TableMapping> mappings = new ConcurrentHashMap<>();
+
+    @Transactional
+    public long ingestPatents(Iterable<? extends Patent> patents) {
+        return ingest(Patent.class, patents, false);
+    }
+
+    @Transactional
+    public long ingestTrademarks(Iterable<? extends Trademark> trademarks) {
+        return ingest(Trademark.class, trademarks, false);
+    }
+
+    // indexed: the caller syncs the search index itself, e.g. once after many parallel loads
+    @Transactional
+    public long ingestPatents(Iterable<? extends Patent> patents, boolean indexed) {
+        return ingest(Patent.class, patents, indexed);
+    }
+
+    @Transactional
+    public long ingestTrademarks(Iterable<? extends Trademark> trademarks, boolean indexed) {
+        return ingest(Trademark.class, trademarks, indexed);
+    }
+
+    @Transactional
+    public long upsertPatents(List<? extends Patent> patents, boolean indexed) {
+        return upsert(Patent.class, patents, indexed);
+    }
+
+    @Transactional
+    public long upsertTrademarks(List<? extends Trademark> trademarks, boolean indexed) {
+        return upsert(Trademark.class, trademarks, indexed);
+    }
+
+    private <T extends IpAsset> long ingest(Class<T> type, Iterable<? extends T> rows, boolean indexed) {
+        TableMapping mapping = mappings.computeIfAbsent(type, this::mappingFor);
+        long start = System.nanoTime();
+        long loaded = 0;
+        boolean copy;
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            copy = PostgresCopy.supports(connection);
+            List<T> chunk = new ArrayList<>(chunkRows);
+            for (T row : rows) {
+                chunk.add(row);
+                if (chunk.size() == chunkRows) {
+                    loaded += load(connection, mapping, chunk, copy);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                loaded += load(connection, mapping, chunk, copy);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load into " + mapping.table + " failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        long millis = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        System.out.println("Bulk loaded " + loaded + " rows into " + mapping.table + " in " + millis + " ms ("
+                + loaded * 1000 / millis + " rows/s, " + (copy ? "COPY" : "JDBC batch") + ")");
+        if (loaded > 0) {
+            eventPublisher.publishEvent(new IpAssetsBulkLoadedEvent(type, loaded, indexed));
+        }
+        return loaded;
+    }
+
+    // Rows without an asset number are skipped. Existing rows keep their id and createdAt; every row's id is
+    // set to the one it has in the table afterwards. indexed tells listeners the caller indexes the rows itself.
+    private <T extends IpAsset> long upsert(Class<T> type, List<? extends T> rows, boolean indexed) {
+        TableMapping mapping = mappings.computeIfAbsent(type, this::mappingFor);
+        // ON CONFLICT may touch a row once per statement, so within a batch the last row per number wins
+        Map<String, T> byNumber = new LinkedHashMap<>();
+        for (T row : rows) {
+            if (row.getAssetNumber() != null) {
+                byNumber.put(row.getAssetNumber(), row);
+            }
+        }
+        if (byNumber.isEmpty()) {
+            return 0;
+        }
+        List<T> distinct = new ArrayList<>(byNumber.values());
+
+        Map<String, Long> ids;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean postgres = PostgresCopy.supports(connection);
+            assignIds(distinct, postgres);
+            stamp(distinct);
+            ids = postgres ? mergeViaStaging(connection, mapping, distinct) : mergeViaJdbc(mapping, distinct);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk upsert into " + mapping.table + " failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        for (T row : rows) {
+            if (row.getAssetNumber() != null) {
+                row.setId(ids.get(row.getAssetNumber()));
+            }
+        }
+
+        eventPublisher.publishEvent(new IpAssetsBulkLoadedEvent(type, distinct.size(), indexed));
+        return distinct.size();
+    }
+
+    // COPY into a session-local staging table, then one INSERT .. ON CONFLICT moves the batch over
+    private Map<String, Long> mergeViaStaging(Connection connection, TableMapping mapping,
+                                              List<? extends IpAsset> rows) throws SQLException {
+        String staging = mapping.table + "_staging";
+        jdbcTemplate.execute("CREATE TEMP TABLE IF NOT EXISTS " + staging + " (LIKE " + mapping.table
+                + ") ON COMMIT DELETE ROWS");
+        copy(connection, mapping.copySql(staging), mapping, rows);
+
+        String updates = mapping.updateColumns.stream()
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("INSERT INTO " + mapping.table + " (" + mapping.columnList + ") SELECT "
+                        + mapping.columnList + " FROM " + staging
+                        + " ON CONFLICT (" + mapping.numberColumn + ") DO UPDATE SET " + updates
+                        + " RETURNING " + mapping.columns.get(0) + ", " + mapping.numberColumn,
+                (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)));
+        jdbcTemplate.execute("TRUNCATE " + staging);
+        return ids;
+    }
+
+    // Without ON CONFLICT: existing numbers are looked up, then updated in one batch and the rest inserted
+    private Map<String, Long> mergeViaJdbc(TableMapping mapping, List<? extends IpAsset> rows) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> numbers = rows.stream().map(IpAsset::getAssetNumber).collect(Collectors.toList());
+        for (int from = 0; from < numbers.size(); from += LOOKUP_BATCH_SIZE) {
+            List<String> slice = numbers.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, numbers.size()));
+            jdbcTemplate.query("SELECT " + mapping.columns.get(0) + ", " + mapping.numberColumn + " FROM "
+                            + mapping.table + " WHERE " + mapping.numberColumn + " IN ("
+                            + String.join(", ", Collections.nCopies(slice.size(), "?")) + ")",
+                    (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)), slice.toArray());
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (IpAsset row : rows) {
+            Long existing = ids.get(row.getAssetNumber());
+            if (existing == null) {
+                inserts.add(mapping.values(row));
+                ids.put(row.getAssetNumber(), row.getId());
+            } else {
+                row.setId(existing);
+                updates.add(mapping.updateValues(row));
+            }
+        }
+        jdbcTemplate.batchUpdate(mapping.insertSql, inserts);
+        jdbcTemplate.batchUpdate(mapping.updateSql, updates);
+        return ids;
+    }
+
+    private <T extends IpAsset> int load(Connection connection, TableMapping mapping, List<T> chunk, boolean copy)
+            throws SQLException {
+        assignIds(chunk, copy);
+        stamp(chunk);
+        if (copy) {
+            copy(connection, mapping.copySql(mapping.table), mapping, chunk);
+        } else {
+            List<Object[]> args = chunk.stream().map(mapping::values).collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(mapping.insertSql, args);
+        }
+        return chunk.size();
+    }
+
+    private void stamp(List<? extends IpAsset> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        for (IpAsset row : rows) {
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+            // Stamped with the load time so the search index sync picks the rows up
+            row.setUpdatedAt(now);
+        }
+    }
+
+    // One nextval per ID_ALLOCATION rows; on PostgreSQL all of them in a single query
+    private void assignIds(List<? extends IpAsset> chunk, boolean postgres) {
+        int blocks = (chunk.size() + IpAsset.ID_ALLOCATION - 1) / IpAsset.ID_ALLOCATION;
+        List<Long> starts;
+        if (postgres) {
+            starts = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + IpAsset.ID_SEQUENCE + "') FROM generate_series(1, ?)", Long.class, blocks);
+        } else {
+            String nextval = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                    .getDialect().getSequenceSupport().getSequenceNextValString(IpAsset.ID_SEQUENCE);
+            starts = new ArrayList<>(blocks);
+            for (int i = 0; i < blocks; i++) {
+                starts.add(jdbcTemplate.queryForObject(nextval, Long.class));
+            }
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).setId(starts.get(i / IpAsset.ID_ALLOCATION) + i % IpAsset.ID_ALLOCATION);
+        }
+    }
+
+    private void copy(Connection connection, String copySql, TableMapping mapping, List<? extends IpAsset> chunk)
+            throws SQLException {
+        try (PostgresCopy copyIn = PostgresCopy.start(connection, copySql)) {
+            StringBuilder line = new StringBuilder(512);
+            for (IpAsset row : chunk) {
+                line.setLength(0);
+                Object[] values = mapping.values(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsv(line, values[i]);
+                }
+                line.append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.write(bytes);
+            }
+            copyIn.end();
+        }
+    }
+
+    // CSV as COPY reads it: NULL is an empty unquoted field, so every text value is quoted
+    private void appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+            return;
+        }
+        String text = value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    // Columns as Hibernate maps them, so naming strategy and @Column names stay the single source of truth
+    private TableMapping mappingFor(Class<?> type) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(type);
+
+        List<String> columns = new ArrayList<>();
+        List<Integer> properties = new ArrayList<>();
+        String numberColumn = null;
+        String createdAtColumn = null;
+        columns.add(persister.getIdentifierColumnNames()[0]);
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            String[] propertyColumns = persister.getPropertyColumnNames(i);
+            // Collections such as subscriptions live in other tables
+            if (propertyColumns.length == 1 && persister.getPropertyInsertability()[i]) {
+                columns.add(propertyColumns[0]);
+                properties.add(i);
+                if ("assetNumber".equals(names[i])) {
+                    numberColumn = propertyColumns[0];
+                } else if ("createdAt".equals(names[i])) {
+                    createdAtColumn = propertyColumns[0];
+                }
+            }
+        }
+        return new TableMapping(persister, persister.getTableName(), columns,
+                properties.stream().mapToInt(Integer::intValue).toArray(), numberColumn, createdAtColumn);
+    }
+
+    private static class TableMapping {
+        private final AbstractEntityPersister persister;
+        private final String table;
+        private final List<String> columns; // id first
+        private final int[] properties;
+        private final String numberColumn;
+        // Columns an upsert overwrites: all but id and createdAt
+        private final List<String> updateColumns = new ArrayList<>();
+        private final int[] updateIndexes;
+        private final String columnList;
+        private final String insertSql;
+        private final String updateSql;
+
+        TableMapping(AbstractEntityPersister persister, String table, List<String> columns, int[] properties,
+                     String numberColumn, String createdAtColumn) {
+            this.persister = persister;
+            this.table = table;
+            this.columns = columns;
+            this.properties = properties;
+            this.numberColumn = numberColumn;
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 1; i < columns.size(); i++) {
+                if (!columns.get(i).equals(createdAtColumn)) {
+                    updateColumns.add(columns.get(i));
+                    indexes.add(i);
+                }
+            }
+            this.updateIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+            this.columnList = String.join(", ", columns);
+            this.insertSql = "INSERT INTO " + table + " (" + columnList + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            this.updateSql = "UPDATE " + table + " SET "
+                    + updateColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(", "))
+                    + " WHERE " + columns.get(0) + " = ?";
+        }
+
+        String copySql(String target) {
+            return "COPY " + target + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)";
+        }
+
+        // Arguments of updateSql: the overwritten columns, then the id
+        Object[] updateValues(IpAsset row) {
+            Object[] values = values(row);
+            Object[] args = new Object[updateIndexes.length + 1];
+            for (int i = 0; i < updateIndexes.length; i++) {
+                args[i] = values[updateIndexes[i]];
+            }
+            args[updateIndexes.length] = row.getId();
+            return args;
+        }
+
+        // Id first, then the mapped properties in column order
+        Object[] values(IpAsset row) {
+            Object[] all = persister.getValues(row);
+            Object[] values = new Object[properties.length + 1];
+            values[0] = row.getId();
+            for (int i = 0; i < properties.length; i++) {
+                values[i + 1] = all[properties[i]];
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.entity.IpAssetChangedEvent;
+import com.example.globalipplatform.project.entity.IpAssetsBulkLoadedEvent;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Evicts cached copies of an asset once its change is committed, so readers never get the pre-commit row
+// back into the cache and a rolled-back change evicts nothing. The caches a transaction touches are
+// collected while it runs and cleared once after its commit, however many assets it changed.
+@Component
+public class CacheInvalidationListener {
+
+    // Lists derived from all rows; only a changed jurisdiction, status or technology may add or remove a value
+    private static final List<String> AGGREGATE_CACHES = List.of("technologies", "jurisdictions", "statuses");
+
+    private static final List<String> PATENT_SEARCH_CACHES = List.of("patentSearches", "patentFacets");
+    private static final List<String> TRADEMARK_SEARCH_CACHES = List.of("trademarkSearches");
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @EventListener
+    public void onAssetChanged(IpAssetChangedEvent event) {
+        String byId;
+        String byNumber;
+        List<String> searches;
+        if (Patent.class.isAssignableFrom(event.getAssetType())) {
+            byId = "patents";
+            byNumber = "patentsByNumber";
+            searches = PATENT_SEARCH_CACHES;
+        } else if (Trademark.class.isAssignableFrom(event.getAssetType())) {
+            byId = "trademarks";
+            byNumber = "trademarksByNumber";
+            searches = TRADEMARK_SEARCH_CACHES;
+        } else {
+            return;
+        }
+
+        boolean transactional = TransactionSynchronizationManager.isSynchronizationActive();
+        Invalidation invalidation = transactional ? currentInvalidation() : new Invalidation();
+        invalidation.evict(byId, event.getId());
+        invalidation.evict(byNumber, event.getAssetNumber());
+        invalidation.evict(byNumber, event.getPreviousAssetNumber());
+        // Any search page may contain the asset, so result caches of its type are dropped as a whole
+        invalidation.cleared.addAll(searches);
+        if (event.isAggregatesChanged()) {
+            invalidation.cleared.addAll(AGGREGATE_CACHES);
+        }
+        if (!transactional) {
+            invalidation.apply();
+        }
+    }
+
+    // One Invalidation per transaction, applied after commit and dropped on completion either way
+    private Invalidation currentInvalidation() {
+        Invalidation invalidation = (Invalidation) TransactionSynchronizationManager.getResource(this);
+        if (invalidation == null) {
+            Invalidation created = new Invalidation();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.apply();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationListener.this);
+                }
+            });
+            invalidation = created;
+        }
+        return invalidation;
+    }
+
+    private class Invalidation {
+        private final Set<String> cleared = new LinkedHashSet<>();
+        private final Map<String, Set<Object>> evicted = new LinkedHashMap<>();
+
+        void evict(String cacheName, Object key) {
+            if (key != null) {
+                evicted.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key);
+            }
+        }
+
+        void apply() {
+            cleared.forEach(CacheInvalidationListener.this::clear);
+            evicted.forEach((cacheName, keys) -> {
+                if (!cleared.contains(cacheName)) {
+                    keys.forEach(key -> CacheInvalidationListener.this.evict(cacheName, key));
+                }
+            });
+        }
+    }
+
+    // A bulk load may have touched any row of its type, so every cache of that type starts over
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkLoaded(IpAssetsBulkLoadedEvent event) {
+        if (Patent.class.isAssignableFrom(event.getAssetType())) {
+            List.of("patents", "patentsByNumber").forEach(this::clear);
+            PATENT_SEARCH_CACHES.forEach(this::clear);
+        } else if (Trademark.class.isAssignableFrom(event.getAssetType())) {
+            List.of("trademarks", "trademarksByNumber").forEach(this::clear);
+            TRADEMARK_SEARCH_CACHES.forEach(this::clear);
+        } else {
+            return;
+        }
+        AGGREGATE_CACHES.forEach(this::clear);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
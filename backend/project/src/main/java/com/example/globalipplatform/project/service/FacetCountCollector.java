@@ -0,0 +1,95 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SimpleCollector;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+// Counts jurisdiction, status, technology and filing year for every matching doc in one pass.
+// Keyword facets are counted per segment by ordinal and only resolved to strings when the segment ends.
+public class FacetCountCollector extends SimpleCollector {
+
+    private static final String[] KEYWORD_FACETS = {"jurisdiction", "status", "technology"};
+
+    private final Map<String, Map<String, Long>> keywordCounts = new HashMap<>();
+    private final Map<Integer, Long> yearCounts = new HashMap<>();
+
+    private final SortedDocValues[] segmentValues = new SortedDocValues[KEYWORD_FACETS.length];
+    private final int[][] segmentCounts = new int[KEYWORD_FACETS.length][];
+    private NumericDocValues filingDates;
+
+    public FacetCountCollector() {
+        for (String facet : KEYWORD_FACETS) {
+            keywordCounts.put(facet, new HashMap<>());
+        }
+    }
+
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+        flushSegment();
+        for (int i = 0; i < KEYWORD_FACETS.length; i++) {
+            segmentValues[i] = DocValues.getSorted(context.reader(), KEYWORD_FACETS[i]);
+            segmentCounts[i] = new int[segmentValues[i].getValueCount()];
+        }
+        filingDates = DocValues.getNumeric(context.reader(), "filingDate");
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+        for (int i = 0; i < KEYWORD_FACETS.length; i++) {
+            if (segmentValues[i].advanceExact(doc)) {
+                segmentCounts[i][segmentValues[i].ordValue()]++;
+            }
+        }
+        if (filingDates.advanceExact(doc) && filingDates.longValue() != Long.MIN_VALUE) {
+            int year = Instant.ofEpochMilli(filingDates.longValue()).atZone(ZoneOffset.UTC).getYear();
+            yearCounts.merge(year, 1L, Long::sum);
+        }
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+        return ScoreMode.COMPLETE_NO_SCORES;
+    }
+
+    public PatentFacetsDTO getFacets() throws IOException {
+        flushSegment();
+        PatentFacetsDTO facets = new PatentFacetsDTO();
+        putSortedByCount(facets.getJurisdictions(), keywordCounts.get("jurisdiction"));
+        putSortedByCount(facets.getStatuses(), keywordCounts.get("status"));
+        putSortedByCount(facets.getTechnologies(), keywordCounts.get("technology"));
+        facets.getYears().putAll(yearCounts);
+        return facets;
+    }
+
+    private void flushSegment() throws IOException {
+        for (int i = 0; i < KEYWORD_FACETS.length; i++) {
+            if (segmentValues[i] == null) {
+                continue;
+            }
+            Map<String, Long> counts = keywordCounts.get(KEYWORD_FACETS[i]);
+            for (int ord = 0; ord < segmentCounts[i].length; ord++) {
+                if (segmentCounts[i][ord] > 0) {
+                    counts.merge(segmentValues[i].lookupOrd(ord).utf8ToString(), (long) segmentCounts[i][ord], Long::sum);
+                }
+            }
+            segmentValues[i] = null;
+            segmentCounts[i] = null;
+        }
+    }
+
+    private void putSortedByCount(Map<String, Long> target, Map<String, Long> counts) {
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> target.put(e.getKey(), e.getValue()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.globalipplatform.project.service;
 
+import com.example.globalipplatform.project.entity.IpAsset;
 import com.example.globalipplatform.project.entity.Patent;
 import com.example.globalipplatform.project.entity.Trademark;
 import com.example.globalipplatform.project.repository.PatentRepository;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 @Service
 public class HybridDataGenerator {
@@ -29,8 +31,14 @@ public class HybridDataGenerator {
     
     @Autowired
     private TrademarkRepository trademarkRepository;
+
+    @Autowired
+    private BulkIngestionService bulkIngestionService;
     
     private final Random random = new Random();
+
+    // Drawn numbers are looked up in the table this many at a time
+    private static final int LOOKUP_BATCH_SIZE = 1000;
     
     private final List<String> jurisdictions = Arrays.asList(
         "USPTO", "EPO", "WIPO", "JPO", "KIPO", "CIPO", "UKIPO", "DPMA"
@@ -106,28 +114,23 @@ public class HybridDataGenerator {
         }
         
         System.out.println("Generating " + needed + " patents...");
-        List<Patent> patents = new ArrayList<>();
-        
+        // asset_number is unique: numbers are unique within the run, and only the drawn ones are checked
+        // against the table, so a run never holds more numbers than it generates
+        Set<String> usedNumbers = new HashSet<>();
+        List<Patent> patents = new ArrayList<>(needed);
         for (int i = 0; i < needed; i++) {
-            Patent patent = createPatent();
-            patents.add(patent);
-            
-            // Save in batches
-            if (patents.size() >= 100) {
-                patentRepository.saveAll(patents);
-                patents.clear();
-                System.out.print(".");
-            }
+            patents.add(createPatent(usedNumbers));
         }
-        
-        if (!patents.isEmpty()) {
-            patentRepository.saveAll(patents);
+        if (currentCount > 0) {
+            redrawTakenNumbers(patents, patentRepository::findExistingAssetNumbers,
+                    patent -> generatePatentNumber(patent.getJurisdiction(), usedNumbers));
         }
-        
-        System.out.println("\n✅ Generated " + needed + " patents");
+        bulkIngestionService.ingestPatents(patents);
+
+        System.out.println("✅ Generated " + needed + " patents");
     }
     
-    private Patent createPatent() {
+    private Patent createPatent(Set<String> usedNumbers) {
     Patent patent = new Patent();
     
     // Basic info
@@ -135,7 +138,7 @@ public class HybridDataGenerator {
     String company = companies.get(random.nextInt(companies.size()));
     String technology = technologies.get(random.nextInt(technologies.size()));
     
-    patent.setAssetNumber(generatePatentNumber(jurisdiction));
+    patent.setAssetNumber(generatePatentNumber(jurisdiction, usedNumbers));
     patent.setTitle(generateTitle(technology, company));
     patent.setJurisdiction(jurisdiction);
     patent.setAssignee(company);
@@ -201,7 +204,7 @@ public class HybridDataGenerator {
     return patent;
 }
     
-    private String generatePatentNumber(String jurisdiction) {
+    private String generatePatentNumber(String jurisdiction, Set<String> usedNumbers) {
         String prefix;
         switch (jurisdiction) {
             case "USPTO": prefix = "US"; break;
@@ -212,10 +215,14 @@ public class HybridDataGenerator {
             default: prefix = jurisdiction.substring(0, 2);
         }
         
-        long number = 10000000 + random.nextInt(90000000);
-        String suffix = random.nextDouble() < 0.7 ? "B2" : (random.nextDouble() < 0.5 ? "A1" : "A");
-        
-        return prefix + "-" + number + "-" + suffix;
+        String patentNumber;
+        do {
+            long number = 10000000 + random.nextInt(90000000);
+            String suffix = random.nextDouble() < 0.7 ? "B2" : (random.nextDouble() < 0.5 ? "A1" : "A");
+            patentNumber = prefix + "-" + number + "-" + suffix;
+        } while (!usedNumbers.add(patentNumber));
+
+        return patentNumber;
     }
     
     private String generateTitle(String technology, String company) {
@@ -333,6 +340,39 @@ public class HybridDataGenerator {
                (random.nextInt(999) + 1);
     }
     
+    private String generateTrademarkNumber(Set<String> usedNumbers) {
+        String trademarkNumber;
+        do {
+            trademarkNumber = "TM-" + (1000000 + random.nextInt(9000000));
+        } while (!usedNumbers.add(trademarkNumber));
+        return trademarkNumber;
+    }
+
+    // Gives every asset whose number is already in the table a fresh one, until none clashes
+    private <T extends IpAsset> void redrawTakenNumbers(List<T> assets,
+                                                        Function<Collection<String>, List<String>> findExisting,
+                                                        Function<T, String> redraw) {
+        List<T> pending = assets;
+        while (!pending.isEmpty()) {
+            Set<String> taken = new HashSet<>();
+            for (int from = 0; from < pending.size(); from += LOOKUP_BATCH_SIZE) {
+                List<String> numbers = new ArrayList<>();
+                for (T asset : pending.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, pending.size()))) {
+                    numbers.add(asset.getAssetNumber());
+                }
+                taken.addAll(findExisting.apply(numbers));
+            }
+            List<T> redrawn = new ArrayList<>();
+            for (T asset : pending) {
+                if (taken.contains(asset.getAssetNumber())) {
+                    asset.setAssetNumber(redraw.apply(asset));
+                    redrawn.add(asset);
+                }
+            }
+            pending = redrawn;
+        }
+    }
+
     private String generateCPCClasses(String technology) {
         return "Y02" + (random.nextInt(99) + 1) + "/" + (random.nextInt(99) + 1);
     }
@@ -347,6 +387,7 @@ public class HybridDataGenerator {
         }
         
         System.out.println("Generating " + needed + " trademarks...");
+        Set<String> usedNumbers = new HashSet<>();
         List<Trademark> trademarks = new ArrayList<>();
         
         String[] brands = {"Tech", "Innovate", "Global", "Smart", "Digital", "Future", "Prime", 
@@ -360,7 +401,7 @@ public class HybridDataGenerator {
             String suffix = suffixes[random.nextInt(suffixes.length)];
             String fullBrand = brand + suffix;
             
-            trademark.setAssetNumber("TM-" + (1000000 + random.nextInt(9000000)));
+            trademark.setAssetNumber(generateTrademarkNumber(usedNumbers));
             trademark.setMark(fullBrand);
             trademark.setTitle(fullBrand + " Trademark");
             trademark.setAssignee(fullBrand);
@@ -373,18 +414,13 @@ public class HybridDataGenerator {
             trademark.setIsCoreTrademark(random.nextDouble() < 0.05); // 5% are core
             
             trademarks.add(trademark);
-            
-            if (trademarks.size() >= 100) {
-                trademarkRepository.saveAll(trademarks);
-                trademarks.clear();
-                System.out.print(".");
-            }
         }
-        
-        if (!trademarks.isEmpty()) {
-            trademarkRepository.saveAll(trademarks);
+        if (currentCount > 0) {
+            redrawTakenNumbers(trademarks, trademarkRepository::findExistingAssetNumbers,
+                    trademark -> generateTrademarkNumber(usedNumbers));
         }
-        
-        System.out.println("\n✅ Generated " + needed + " trademarks");
+        bulkIngestionService.ingestTrademarks(trademarks);
+
+        System.out.println("✅ Generated " + needed + " trademarks");
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.globalipplatform.project.service;
 
+import com.example.globalipplatform.project.DTO.AssetResolveResponse;
+import com.example.globalipplatform.project.DTO.AssetSearchResponse;
 import com.example.globalipplatform.project.DTO.PatentDTO;
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
 import com.example.globalipplatform.project.DTO.PatentSearchRequest;
 import com.example.globalipplatform.project.DTO.PatentSearchResponse;
 import com.example.globalipplatform.project.DTO.TrademarkDTO;
@@ -14,19 +17,28 @@ public interface IPService {
     
     // Patent methods
     PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable);
+    PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable, boolean includeFacets);
+    PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable, boolean includeFacets, String cursor);
+    PatentFacetsDTO getPatentFacets(PatentSearchRequest request);
     PatentDTO getPatentById(Long id);
     PatentDTO getPatentByNumber(String patentNumber);
+    AssetResolveResponse<PatentDTO> resolvePatentNumbers(List<String> patentNumbers);
     List<String> getAllTechnologies();
     List<String> getAllPatentJurisdictions();
     List<String> getAllPatentStatuses();
     
     // Trademark methods
     TrademarkSearchResponse searchTrademarks(TrademarkSearchRequest request, Pageable pageable);
+    TrademarkSearchResponse searchTrademarks(TrademarkSearchRequest request, Pageable pageable, String cursor);
     TrademarkDTO getTrademarkById(Long id);
     TrademarkDTO getTrademarkByNumber(String trademarkNumber);
+    AssetResolveResponse<TrademarkDTO> resolveTrademarkNumbers(List<String> trademarkNumbers);
     List<String> getAllTrademarkJurisdictions();
     List<String> getAllTrademarkStatuses();
     
+    // Cross-asset methods
+    AssetSearchResponse searchAssets(String query, String type, Pageable pageable);
+
     // Analytics methods
     long getTotalPatentCount();
     long getTotalTrademarkCount();
@@ -0,0 +1,12 @@
+package com.example.globalipplatform.project.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IndexAssetHit {
+    private String type; // PATENT, TRADEMARK
+    private Long id;
+    private float score;
+}
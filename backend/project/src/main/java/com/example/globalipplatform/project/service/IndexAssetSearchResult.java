@@ -0,0 +1,13 @@
+package com.example.globalipplatform.project.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IndexAssetSearchResult {
+    private List<IndexAssetHit> hits; // hits of the requested page, best match first
+    private long totalHits;
+}
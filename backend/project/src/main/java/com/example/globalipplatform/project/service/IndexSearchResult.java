@@ -0,0 +1,16 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class IndexSearchResult {
+    private List<Long> ids; // ids of the requested page, in ranking order
+    private long totalHits; // -1 when not counted on a searchAfter page
+    private PatentFacetsDTO facets; // null unless requested
+    private Object[] nextAfter; // sort values of the page's last hit when more hits follow, otherwise null
+}
@@ -1,54 +1,288 @@
 package com.example.globalipplatform.project.service;
 
+import com.example.globalipplatform.project.DTO.AssetResolveResponse;
+import com.example.globalipplatform.project.DTO.AssetSearchHitDTO;
+import com.example.globalipplatform.project.DTO.AssetSearchResponse;
 import com.example.globalipplatform.project.DTO.PatentDTO;
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
 import com.example.globalipplatform.project.DTO.PatentSearchRequest;
 import com.example.globalipplatform.project.DTO.PatentSearchResponse;
 import com.example.globalipplatform.project.DTO.TrademarkDTO;
 import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
 import com.example.globalipplatform.project.DTO.TrademarkSearchResponse;
+import com.example.globalipplatform.project.entity.IpAsset;
 import com.example.globalipplatform.project.entity.Patent;
 import com.example.globalipplatform.project.entity.Trademark;
+import com.example.globalipplatform.project.repository.KeysetSpecifications;
 import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.repository.PatentSpecifications;
 import com.example.globalipplatform.project.repository.TrademarkRepository;
+import com.example.globalipplatform.project.repository.TrademarkSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.NullOrdering;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class MockIPService implements IPService {
 
+    // Numbers per IN query when resolving a batch
+    private static final int RESOLVE_BATCH_SIZE = 500;
+
+    private static final Set<String> TRADEMARK_SORT_FIELDS = Set.of(
+            "id", "filingDate", "mark", "assetNumber", "jurisdiction", "status", "assignee");
+
     @Autowired
     private PatentRepository patentRepository;
 
     @Autowired
     private TrademarkRepository trademarkRepository;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Where the database sorts NULL values, read from the dialect on first use
+    private volatile NullOrdering nullOrdering;
+
+    // This service through its proxy: calls between its own methods otherwise skip the caches
+    @Autowired
+    @Lazy
+    private IPService self;
+
     @Override
     public PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable) {
-        Page<Patent> patentPage;
+        return self.searchPatents(request, pageable, false, null);
+    }
 
-        if (request.getQuery() != null && !request.getQuery().isEmpty()) {
-            patentPage = patentRepository.searchPatentsSimple(request.getQuery(), pageable);
-        } else {
-            patentPage = patentRepository.findAll(pageable);
+    @Override
+    public PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable, boolean includeFacets) {
+        return self.searchPatents(request, pageable, includeFacets, null);
+    }
+
+    // Identical concurrent misses are computed once (sync); entries live briefly and are cleared on asset changes
+    @Override
+    @Cacheable(value = "patentSearches", sync = true,
+            key = "T(com.example.globalipplatform.project.service.SearchCacheKeys).patentSearch(#request, #pageable, #includeFacets, #cursor)")
+    public PatentSearchResponse searchPatents(PatentSearchRequest request, Pageable pageable, boolean includeFacets,
+                                              String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            return searchPatentsAfter(request, pageable, includeFacets,
+                    SearchCursor.decode(cursor, pageable.getSort(), SearchCacheKeys.patentFilters(request)));
         }
 
-        List<PatentDTO> patents = patentPage.getContent()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        Page<Patent> patentPage = null;
+        PatentFacetsDTO facets = null;
+        String nextCursor = null;
+
+        // Text queries go to the Lucene index when it can serve the requested sort
+        if (request.getQuery() != null && !request.getQuery().isBlank()
+                && searchIndexService.isReady() && searchIndexService.supportsSort(pageable.getSort())) {
+            IndexSearchResult result = searchPatentsInIndex(request, pageable, includeFacets);
+            if (result != null) {
+                patentPage = hydratePatents(result, pageable);
+                facets = result.getFacets();
+                nextCursor = indexCursor(result, pageable.getSort(), SearchCacheKeys.patentFilters(request));
+            }
+        }
+        if (patentPage == null) {
+            // Filter-only searches are served by the composite indexes on the patents table
+            Sort keysetSort = keysetSort(pageable.getSort());
+            patentPage = patentRepository.findAll(PatentSpecifications.fromRequest(request),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), keysetSort));
+            nextCursor = patentPage.hasNext()
+                    ? keysetCursor(patentPage.getContent(), pageable.getSort(), keysetSort,
+                            SearchCacheKeys.patentFilters(request))
+                    : null;
+        }
+
+        if (includeFacets && facets == null) {
+            facets = self.getPatentFacets(request);
+        }
 
         return new PatentSearchResponse(
-                patents,
+                toPatentDTOs(patentPage.getContent()),
                 patentPage.getTotalElements(),
                 patentPage.getTotalPages(),
                 patentPage.getNumber(),
-                patentPage.getSize());
+                patentPage.getSize(),
+                facets,
+                nextCursor);
+    }
+
+    // Cursor pages resume from the last row served, so their cost does not depend on how deep they are.
+    // Totals are not recounted; they were reported with the first page.
+    private PatentSearchResponse searchPatentsAfter(PatentSearchRequest request, Pageable pageable,
+                                                    boolean includeFacets, SearchCursor cursor) {
+        List<Patent> patents;
+        PatentFacetsDTO facets = null;
+        String nextCursor;
+        long totalElements = -1;
+
+        if (cursor.getKind() == SearchCursor.Kind.INDEX) {
+            if (!searchIndexService.isReady()) {
+                throw new IllegalStateException("Search index is not ready yet");
+            }
+            IndexSearchResult result;
+            try {
+                result = searchIndexService.searchPatentsAfter(request, cursor.getValues(),
+                        pageable.getPageSize(), pageable.getSort(), includeFacets);
+            } catch (Exception e) {
+                throw new RuntimeException("Patent search failed: " + e.getMessage(), e);
+            }
+            patents = hydratePatents(result, pageable).getContent();
+            facets = result.getFacets();
+            totalElements = result.getTotalHits();
+            nextCursor = indexCursor(result, pageable.getSort(), SearchCacheKeys.patentFilters(request));
+        } else {
+            Sort keysetSort = keysetSort(pageable.getSort());
+            List<Patent> rows = seekKeyset(patentRepository, PatentSpecifications.fromRequest(request),
+                    keysetSort, cursor.getValues(), pageable.getPageSize() + 1);
+            patents = rows.subList(0, Math.min(rows.size(), pageable.getPageSize()));
+            nextCursor = rows.size() > pageable.getPageSize()
+                    ? keysetCursor(patents, pageable.getSort(), keysetSort, SearchCacheKeys.patentFilters(request))
+                    : null;
+        }
+
+        if (includeFacets && facets == null) {
+            facets = self.getPatentFacets(request);
+        }
+
+        return new PatentSearchResponse(
+                toPatentDTOs(patents),
+                totalElements,
+                -1,
+                -1,
+                pageable.getPageSize(),
+                facets,
+                nextCursor);
+    }
+
+    // Returns null when the index cannot answer, so the caller falls back to the database
+    private IndexSearchResult searchPatentsInIndex(PatentSearchRequest request, Pageable pageable, boolean includeFacets) {
+        try {
+            return searchIndexService.searchPatents(request, (int) pageable.getOffset(),
+                    pageable.getPageSize(), pageable.getSort(), includeFacets);
+        } catch (Exception e) {
+            System.err.println("Index search failed, falling back to database: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String indexCursor(IndexSearchResult result, Sort sort, String search) {
+        return result.getNextAfter() != null
+                ? SearchCursor.of(SearchCursor.Kind.INDEX, sort, search, result.getNextAfter()).encode()
+                : null;
+    }
+
+    // Keyset paging orders by the first sort property and then by id in the same direction
+    private Sort keysetSort(Sort sort) {
+        Sort.Order primary = sort.isSorted() ? sort.iterator().next() : Sort.Order.desc("filingDate");
+        if (primary.getProperty().equals("id")) {
+            return Sort.by(primary);
+        }
+        return Sort.by(primary, new Sort.Order(primary.getDirection(), "id"));
+    }
+
+    // Reads up to limit rows after the cursor: the rest of the cursor's segment first, then the following
+    // segment (NULL or non-null sort values) when the first one runs out. Each query is one index range.
+    // The first page came from a plain ORDER BY, so the segments follow the database's own NULL placement.
+    private <T> List<T> seekKeyset(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                   Sort keysetSort, Object[] cursorValues, int limit) {
+        Sort.Order primary = keysetSort.iterator().next();
+        List<T> rows = new ArrayList<>(repository.findBy(
+                filter.and(KeysetSpecifications.after(primary, cursorValues[0], (Long) cursorValues[1])),
+                query -> query.sortBy(keysetSort).limit(limit).all()));
+        Specification<T> following = KeysetSpecifications.following(primary, cursorValues[0],
+                KeysetSpecifications.nullsLast(primary, nullOrdering()));
+        if (rows.size() < limit && following != null) {
+            int remaining = limit - rows.size();
+            rows.addAll(repository.findBy(filter.and(following),
+                    query -> query.sortBy(keysetSort).limit(remaining).all()));
+        }
+        return rows;
+    }
+
+    private NullOrdering nullOrdering() {
+        if (nullOrdering == null) {
+            nullOrdering = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                    .getDialect().getNullOrdering();
+        }
+        return nullOrdering;
+    }
+
+    private String keysetCursor(List<? extends IpAsset> rows, Sort requestedSort, Sort keysetSort, String search) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        IpAsset last = rows.get(rows.size() - 1);
+        Object value = new BeanWrapperImpl(last).getPropertyValue(keysetSort.iterator().next().getProperty());
+        return SearchCursor.of(SearchCursor.Kind.KEYSET, requestedSort, search, new Object[]{value, last.getId()})
+                .encode();
+    }
+
+    private List<PatentDTO> toPatentDTOs(List<Patent> patents) {
+        return patents.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Only the ids of the requested page are loaded from the database
+    private Page<Patent> hydratePatents(IndexSearchResult result, Pageable pageable) {
+        Map<Long, Patent> byId = patentRepository.findAllById(result.getIds())
+                .stream()
+                .collect(Collectors.toMap(Patent::getId, Function.identity()));
+
+        // Keep the index ranking; ids deleted since indexing are skipped
+        List<Patent> content = result.getIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(content, pageable, result.getTotalHits());
+    }
+
+    // Facets come from the index in one collector pass; one grouped SQL query is the fallback
+    @Override
+    @Cacheable(value = "patentFacets", sync = true, key = "T(com.example.globalipplatform.project.service.SearchCacheKeys).patentFacets(#request)")
+    public PatentFacetsDTO getPatentFacets(PatentSearchRequest request) {
+        if (searchIndexService.isReady()) {
+            try {
+                return searchIndexService.facetPatents(request);
+            } catch (Exception e) {
+                System.err.println("Index facet count failed, falling back to database: " + e.getMessage());
+            }
+        }
+        return patentRepository.countFacets(PatentSpecifications.fromRequest(request));
     }
 
     @Override
@@ -61,104 +295,107 @@ public class MockIPService implements IPService {
 
     @Override
     public PatentDTO getPatentByNumber(String patentNumber) {
-        Patent patent = patentRepository.findByAssetNumber(patentNumber);
+        PatentDTO patent = resolveByNumbers(List.of(patentNumber), "patents", "patentsByNumber", PatentDTO.class,
+                patentRepository::findByAssetNumberIn, this::convertToDTO).get(patentNumber);
         if (patent == null) {
             throw new RuntimeException("Patent not found with number: " + patentNumber);
         }
-        return convertToDTO(patent);
+        return patent;
+    }
+
+    @Override
+    public AssetResolveResponse<PatentDTO> resolvePatentNumbers(List<String> patentNumbers) {
+        Map<String, PatentDTO> found = resolveByNumbers(patentNumbers, "patents", "patentsByNumber", PatentDTO.class,
+                patentRepository::findByAssetNumberIn, this::convertToDTO);
+        return toResolveResponse(patentNumbers, found);
     }
 
     @Override
+    @Cacheable(value = "technologies", sync = true)
     public List<String> getAllTechnologies() {
         return patentRepository.findAllTechnologies();
     }
 
     @Override
+    @Cacheable(value = "jurisdictions", key = "'patent'", sync = true)
     public List<String> getAllPatentJurisdictions() {
         return patentRepository.findAllJurisdictions();
     }
 
     @Override
+    @Cacheable(value = "statuses", key = "'patent'", sync = true)
     public List<String> getAllPatentStatuses() {
         return patentRepository.findAllStatuses();
     }
 
     @Override
     public TrademarkSearchResponse searchTrademarks(TrademarkSearchRequest request, Pageable pageable) {
-        // Fetch all trademarks and filter in Java — avoids JPQL dialect issues
-        List<Trademark> all = trademarkRepository.findAll();
-
-        String query = request.getQuery() != null ? request.getQuery().toLowerCase().trim() : null;
-        String jurisdiction = request.getJurisdiction();
-        String status = request.getStatus();
-        String owner = request.getOwner() != null ? request.getOwner().toLowerCase().trim() : null;
-        String niceClass = request.getNiceClass();
-        Integer yearFrom = request.getYearFrom();
-        Integer yearTo = request.getYearTo();
-
-        List<Trademark> filtered = all.stream().filter(t -> {
-            // query filter — matches mark, assignee, or goodsServices
-            if (query != null && !query.isEmpty()) {
-                boolean matches = false;
-                if (t.getMark() != null && t.getMark().toLowerCase().contains(query))
-                    matches = true;
-                if (t.getAssignee() != null && t.getAssignee().toLowerCase().contains(query))
-                    matches = true;
-                if (t.getGoodsServices() != null && t.getGoodsServices().toLowerCase().contains(query))
-                    matches = true;
-                if (!matches)
-                    return false;
-            }
-            // jurisdiction filter
-            if (jurisdiction != null && !jurisdiction.isEmpty()) {
-                if (!jurisdiction.equalsIgnoreCase(t.getJurisdiction()))
-                    return false;
-            }
-            // status filter
-            if (status != null && !status.isEmpty()) {
-                if (!status.equalsIgnoreCase(t.getStatus()))
-                    return false;
-            }
-            // owner filter
-            if (owner != null && !owner.isEmpty()) {
-                if (t.getAssignee() == null || !t.getAssignee().toLowerCase().contains(owner))
-                    return false;
-            }
-            // niceClass filter
-            if (niceClass != null && !niceClass.isEmpty()) {
-                if (t.getNiceClasses() == null || !t.getNiceClasses().contains(niceClass))
-                    return false;
-            }
-            // year range filter
-            if (t.getFilingDate() != null) {
-                int year = t.getFilingDate().getYear();
-                if (yearFrom != null && year < yearFrom)
-                    return false;
-                if (yearTo != null && year > yearTo)
-                    return false;
+        return self.searchTrademarks(request, pageable, null);
+    }
+
+    @Override
+    @Cacheable(value = "trademarkSearches", sync = true,
+            key = "T(com.example.globalipplatform.project.service.SearchCacheKeys).trademarkSearch(#request, #pageable, #cursor)")
+    public TrademarkSearchResponse searchTrademarks(TrademarkSearchRequest request, Pageable pageable, String cursor) {
+        if (request == null) {
+            request = new TrademarkSearchRequest();
+        }
+
+        // Filtering, sorting and paging all happen in the database; only one page is materialised
+        Sort keysetSort = sanitizeTrademarkSort(pageable.getSort());
+        Specification<Trademark> spec = TrademarkSpecifications.fromRequest(request);
+
+        if (cursor != null && !cursor.isBlank()) {
+            // Keyset page: seek past the last row instead of skipping offset rows, and skip the count
+            SearchCursor after = SearchCursor.decode(cursor, pageable.getSort(),
+                    SearchCacheKeys.trademarkFilters(request));
+            if (after.getKind() != SearchCursor.Kind.KEYSET) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
-            return true;
-        }).collect(Collectors.toList());
-
-        // Manual pagination
-        int pageNum = pageable.getPageNumber();
-        int pageSize = pageable.getPageSize();
-        int total = filtered.size();
-        int totalPages = (int) Math.ceil((double) total / pageSize);
-        int fromIdx = Math.min(pageNum * pageSize, total);
-        int toIdx = Math.min(fromIdx + pageSize, total);
-        List<Trademark> page = filtered.subList(fromIdx, toIdx);
-
-        List<TrademarkDTO> trademarks = page.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+            List<Trademark> rows = seekKeyset(trademarkRepository, spec,
+                    keysetSort, after.getValues(), pageable.getPageSize() + 1);
+            List<Trademark> trademarks = rows.subList(0, Math.min(rows.size(), pageable.getPageSize()));
+            return new TrademarkSearchResponse(
+                    toTrademarkDTOs(trademarks),
+                    -1,
+                    -1,
+                    -1,
+                    pageable.getPageSize(),
+                    rows.size() > pageable.getPageSize()
+                            ? keysetCursor(trademarks, pageable.getSort(), keysetSort,
+                                    SearchCacheKeys.trademarkFilters(request))
+                            : null);
+        }
+
+        Page<Trademark> trademarkPage = trademarkRepository.findAll(spec,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), keysetSort));
 
         return new TrademarkSearchResponse(
-                trademarks,
-                total,
-                totalPages,
-                pageNum,
-                pageSize);
+                toTrademarkDTOs(trademarkPage.getContent()),
+                trademarkPage.getTotalElements(),
+                trademarkPage.getTotalPages(),
+                trademarkPage.getNumber(),
+                trademarkPage.getSize(),
+                trademarkPage.hasNext()
+                        ? keysetCursor(trademarkPage.getContent(), pageable.getSort(), keysetSort,
+                                SearchCacheKeys.trademarkFilters(request))
+                        : null);
+    }
+
+    // Unknown sort properties fall back to filingDate; id follows in the same direction so page
+    // boundaries are stable and a keyset cursor can resume from (sort value, id)
+    private Sort sanitizeTrademarkSort(Sort sort) {
+        Sort.Order primary = sort.stream()
+                .filter(order -> TRADEMARK_SORT_FIELDS.contains(order.getProperty()))
+                .findFirst()
+                .orElse(Sort.Order.desc("filingDate"));
+        return keysetSort(Sort.by(primary));
+    }
+
+    private List<TrademarkDTO> toTrademarkDTOs(List<Trademark> trademarks) {
+        return trademarks.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -171,23 +408,149 @@ public class MockIPService implements IPService {
 
     @Override
     public TrademarkDTO getTrademarkByNumber(String trademarkNumber) {
-        Trademark trademark = trademarkRepository.findByAssetNumber(trademarkNumber);
+        TrademarkDTO trademark = resolveByNumbers(List.of(trademarkNumber), "trademarks", "trademarksByNumber",
+                TrademarkDTO.class, trademarkRepository::findByAssetNumberIn, this::convertToDTO).get(trademarkNumber);
         if (trademark == null) {
             throw new RuntimeException("Trademark not found with number: " + trademarkNumber);
         }
-        return convertToDTO(trademark);
+        return trademark;
+    }
+
+    @Override
+    public AssetResolveResponse<TrademarkDTO> resolveTrademarkNumbers(List<String> trademarkNumbers) {
+        Map<String, TrademarkDTO> found = resolveByNumbers(trademarkNumbers, "trademarks", "trademarksByNumber",
+                TrademarkDTO.class, trademarkRepository::findByAssetNumberIn, this::convertToDTO);
+        return toResolveResponse(trademarkNumbers, found);
+    }
+
+    // The by-number cache only maps a number to its id; the DTO itself lives once, in the by-id cache,
+    // so both lookups return the same entry and one eviction covers both. Misses are loaded in one IN query.
+    private <E extends IpAsset, D> Map<String, D> resolveByNumbers(Collection<String> numbers, String byIdName,
+                                                                    String byNumberName, Class<D> type,
+                                                                    Function<Collection<String>, List<E>> loader,
+                                                                    Function<E, D> converter) {
+        Cache byId = cacheManager.getCache(byIdName);
+        Cache byNumber = cacheManager.getCache(byNumberName);
+        Map<String, D> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (String number : numbers) {
+            if (number == null) {
+                continue;
+            }
+            Long id = byNumber.get(number, Long.class);
+            D cached = id != null ? byId.get(id, type) : null;
+            if (cached != null) {
+                resolved.put(number, cached);
+            } else {
+                missing.add(number);
+            }
+        }
+
+        List<String> pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += RESOLVE_BATCH_SIZE) {
+            List<String> chunk = pending.subList(from, Math.min(from + RESOLVE_BATCH_SIZE, pending.size()));
+            for (E asset : loader.apply(chunk)) {
+                D dto = converter.apply(asset);
+                byId.put(asset.getId(), dto);
+                byNumber.put(asset.getAssetNumber(), asset.getId());
+                resolved.put(asset.getAssetNumber(), dto);
+            }
+        }
+        return resolved;
+    }
+
+    private <D> AssetResolveResponse<D> toResolveResponse(List<String> numbers, Map<String, D> found) {
+        List<D> hits = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        for (String number : new LinkedHashSet<>(numbers)) {
+            if (number == null) {
+                continue;
+            }
+            D dto = found.get(number);
+            if (dto != null) {
+                hits.add(dto);
+            } else {
+                notFound.add(number);
+            }
+        }
+        return new AssetResolveResponse<>(hits, notFound);
     }
 
     @Override
+    @Cacheable(value = "jurisdictions", key = "'trademark'", sync = true)
     public List<String> getAllTrademarkJurisdictions() {
         return trademarkRepository.findAllJurisdictions();
     }
 
     @Override
+    @Cacheable(value = "statuses", key = "'trademark'", sync = true)
     public List<String> getAllTrademarkStatuses() {
         return trademarkRepository.findAllStatuses();
     }
 
+    @Override
+    public AssetSearchResponse searchAssets(String query, String type, Pageable pageable) {
+        if (!searchIndexService.isReady()) {
+            throw new IllegalStateException("Search index is not ready yet");
+        }
+
+        IndexAssetSearchResult result;
+        try {
+            result = searchIndexService.searchAssets(query, type, (int) pageable.getOffset(), pageable.getPageSize());
+        } catch (Exception e) {
+            throw new RuntimeException("Asset search failed: " + e.getMessage(), e);
+        }
+
+        // One query per asset type for the whole page, then back into ranking order
+        List<Long> patentIds = result.getHits().stream()
+                .filter(hit -> SearchIndexService.TYPE_PATENT.equals(hit.getType()))
+                .map(IndexAssetHit::getId)
+                .collect(Collectors.toList());
+        List<Long> trademarkIds = result.getHits().stream()
+                .filter(hit -> SearchIndexService.TYPE_TRADEMARK.equals(hit.getType()))
+                .map(IndexAssetHit::getId)
+                .collect(Collectors.toList());
+        Map<Long, Patent> patents = patentRepository.findAllById(patentIds).stream()
+                .collect(Collectors.toMap(Patent::getId, Function.identity()));
+        Map<Long, Trademark> trademarks = trademarkRepository.findAllById(trademarkIds).stream()
+                .collect(Collectors.toMap(Trademark::getId, Function.identity()));
+
+        List<AssetSearchHitDTO> hits = result.getHits().stream()
+                .map(hit -> SearchIndexService.TYPE_PATENT.equals(hit.getType())
+                        ? toAssetHit(hit, patents.get(hit.getId()))
+                        : toAssetHit(hit, trademarks.get(hit.getId())))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Page<AssetSearchHitDTO> page = new PageImpl<>(hits, pageable, result.getTotalHits());
+        return new AssetSearchResponse(
+                hits,
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getSize());
+    }
+
+    private AssetSearchHitDTO toAssetHit(IndexAssetHit hit, IpAsset asset) {
+        if (asset == null) {
+            return null;
+        }
+        AssetSearchHitDTO dto = new AssetSearchHitDTO();
+        dto.setType(hit.getType());
+        dto.setId(asset.getId());
+        dto.setScore(hit.getScore());
+        dto.setAssetNumber(asset.getAssetNumber());
+        dto.setTitle(asset instanceof Trademark && ((Trademark) asset).getMark() != null
+                ? ((Trademark) asset).getMark()
+                : asset.getTitle());
+        dto.setJurisdiction(asset.getJurisdiction());
+        dto.setStatus(asset.getStatus());
+        dto.setAssignee(asset.getAssignee());
+        dto.setFilingDate(asset.getFilingDate());
+        return dto;
+    }
+
     @Override
     public long getTotalPatentCount() {
         return patentRepository.count();
@@ -200,12 +563,12 @@ public class MockIPService implements IPService {
 
     @Override
     public long getPatentCountByJurisdiction(String jurisdiction) {
-        return 0; // Simplified for now
+        return patentRepository.countByJurisdiction(jurisdiction);
     }
 
     @Override
     public long getPatentCountByStatus(String status) {
-        return 0; // Simplified for now
+        return patentRepository.countByStatus(status);
     }
 
     private PatentDTO convertToDTO(Patent patent) {
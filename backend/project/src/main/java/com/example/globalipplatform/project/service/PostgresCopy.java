@@ -0,0 +1,79 @@
+package com.example.globalipplatform.project.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// One COPY ... FROM STDIN through the PostgreSQL driver's copy API. The driver is looked up by name so it
+// stays a runtime dependency; without it on the classpath supports() is false and callers use JDBC batches.
+final class PostgresCopy implements AutoCloseable {
+
+    private static final Api API = Api.load();
+
+    private final Object copyIn;
+
+    private PostgresCopy(Object copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    static boolean supports(Connection connection) throws SQLException {
+        return API != null && connection.isWrapperFor(API.connection);
+    }
+
+    static PostgresCopy start(Connection connection, String copySql) throws SQLException {
+        Object copyManager = invoke(API.getCopyAPI, connection.unwrap(API.connection));
+        return new PostgresCopy(invoke(API.copyIn, copyManager, copySql));
+    }
+
+    void write(byte[] bytes) throws SQLException {
+        invoke(API.writeToCopy, copyIn, bytes, 0, bytes.length);
+    }
+
+    void end() throws SQLException {
+        invoke(API.endCopy, copyIn);
+    }
+
+    // Cancels a copy that was not ended, so the connection can be used again
+    @Override
+    public void close() throws SQLException {
+        if ((Boolean) invoke(API.isActive, copyIn)) {
+            invoke(API.cancelCopy, copyIn);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("COPY failed in " + method.getName(), e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new SQLException("COPY API not accessible: " + method, e);
+        }
+    }
+
+    private record Api(Class<?> connection, Method getCopyAPI, Method copyIn, Method writeToCopy, Method endCopy,
+                       Method isActive, Method cancelCopy) {
+
+        static Api load() {
+            try {
+                Class<?> connection = Class.forName("org.postgresql.PGConnection");
+                Class<?> copyManager = Class.forName("org.postgresql.copy.CopyManager");
+                Class<?> copyIn = Class.forName("org.postgresql.copy.CopyIn");
+                return new Api(connection,
+                        connection.getMethod("getCopyAPI"),
+                        copyManager.getMethod("copyIn", String.class),
+                        copyIn.getMethod("writeToCopy", byte[].class, int.class, int.class),
+                        copyIn.getMethod("endCopy"),
+                        copyIn.getMethod("isActive"),
+                        copyIn.getMethod("cancelCopy"));
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                System.out.println("PostgreSQL COPY unavailable, bulk loads use JDBC batches: " + e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Locale;
+
+// Cache keys for search results. Requests that differ only in case, surrounding or repeated
+// whitespace, or blank versus missing filters are answered identically, so they share one key.
+public final class SearchCacheKeys {
+
+    private SearchCacheKeys() {
+    }
+
+    public static String patentSearch(PatentSearchRequest request, Pageable pageable, boolean facets, String cursor) {
+        return patentFilters(request)
+                + "|facets=" + facets
+                + page(pageable, cursor);
+    }
+
+    public static String patentFacets(PatentSearchRequest request) {
+        return patentFilters(request);
+    }
+
+    public static String trademarkSearch(TrademarkSearchRequest request, Pageable pageable, String cursor) {
+        return trademarkFilters(request) + page(pageable, cursor);
+    }
+
+    // The request's own sortBy/sortOrder are not read by the search; the Pageable carries the sort.
+    // The filter keys also identify the search a cursor was issued for.
+    public static String patentFilters(PatentSearchRequest request) {
+        return "q=" + lower(request.getQuery())
+                + "|j=" + upper(request.getJurisdiction())
+                + "|s=" + upper(request.getStatus())
+                + "|t=" + upper(request.getTechnology())
+                + "|a=" + lower(request.getAssignee())
+                + "|i=" + lower(request.getInventor())
+                + "|y=" + request.getYearFrom() + "-" + request.getYearTo();
+    }
+
+    public static String trademarkFilters(TrademarkSearchRequest request) {
+        if (request == null) {
+            request = new TrademarkSearchRequest();
+        }
+        return "q=" + lower(request.getQuery())
+                + "|j=" + upper(request.getJurisdiction())
+                + "|s=" + upper(request.getStatus())
+                + "|o=" + lower(request.getOwner())
+                + "|nc=" + normalize(request.getNiceClass())
+                + "|y=" + request.getYearFrom() + "-" + request.getYearTo();
+    }
+
+    private static String page(Pageable pageable, String cursor) {
+        String position = cursor != null && !cursor.isBlank() ? "c=" + cursor.trim() : "p=" + pageable.getPageNumber();
+        return "|" + position + "|n=" + pageable.getPageSize() + "|sort=" + pageable.getSort();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ");
+    }
+
+    private static String lower(String value) {
+        return normalize(value).toLowerCase(Locale.ROOT);
+    }
+
+    private static String upper(String value) {
+        return normalize(value).toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.globalipplatform.project.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque continuation token: the sort values of the last row served, the sort and the search (a hash of
+// its normalized filters) they belong to, and whether they came from the search index or from a keyset
+// query on the database
+@Getter
+@AllArgsConstructor
+public class SearchCursor {
+
+    public enum Kind {INDEX, KEYSET}
+
+    private final Kind kind;
+    private final String sort;
+    private final long request;
+    private final Object[] values;
+
+    public static SearchCursor of(Kind kind, Sort sort, String request, Object[] values) {
+        return new SearchCursor(kind, sort.toString(), requestHash(request), values);
+    }
+
+    public String encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(kind.ordinal());
+            out.writeUTF(sort);
+            out.writeLong(request);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    // A cursor is only valid for the search and the sort it was issued with
+    public static SearchCursor decode(String token, Sort expectedSort, String expectedRequest) {
+        SearchCursor cursor;
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)));
+            Kind kind = Kind.values()[in.readByte()];
+            String sort = in.readUTF();
+            long request = in.readLong();
+            Object[] values = new Object[in.readByte()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(in);
+            }
+            cursor = new SearchCursor(kind, sort, request, values);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!cursor.sort.equals(expectedSort.toString())) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        if (cursor.request != requestHash(expectedRequest)) {
+            throw new IllegalArgumentException("Cursor was issued for a different search");
+        }
+        return cursor;
+    }
+
+    // First 8 bytes of the SHA-256 of the normalized request
+    private static long requestHash(String request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof Long) {
+            out.writeByte('L');
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte('I');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Float) {
+            out.writeByte('F');
+            out.writeFloat((Float) value);
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            out.writeUTF((String) value);
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte('T');
+            out.writeUTF(value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported cursor value: " + value.getClass().getSimpleName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case 'N':
+                return null;
+            case 'L':
+                return in.readLong();
+            case 'I':
+                return in.readInt();
+            case 'F':
+                return in.readFloat();
+            case 'S':
+                return in.readUTF();
+            case 'T':
+                return LocalDateTime.parse(in.readUTF());
+            default:
+                throw new IOException("Unknown cursor value tag " + tag);
+        }
+    }
+}
@@ -1,96 +1,852 @@
 package com.example.globalipplatform.project.service;
 
 
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import com.example.globalipplatform.project.config.SearchRankingProperties;
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.IpAssetChangedEvent;
+import com.example.globalipplatform.project.entity.IpAssetsBulkLoadedEvent;
 import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
 import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.repository.TrademarkRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.*;
-import org.apache.lucene.queryparser.classic.QueryParser; 
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
 import org.apache.lucene.search.*;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.search.similarities.Similarity;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 @Service
 public class SearchIndexService {
 
+    public static final String TYPE_PATENT = "PATENT";
+    public static final String TYPE_TRADEMARK = "TRADEMARK";
+
+    // Pageable sort properties that can be served from doc values
+    private static final Map<String, String> SORT_FIELDS = Map.of(
+            "filingDate", "filingDate",
+            "grantDate", "grantDate",
+            "citationCount", "citationCount");
+
+    // Relevance with the asset id as tie-break, so hits with equal scores page in a stable order
+    private static final Sort RELEVANCE_SORT = new Sort(SortField.FIELD_SCORE, new SortField("id", SortField.Type.LONG));
+
+    // Hit counting stops here unless facets need every match anyway; the same default as IndexSearcher
+    private static final int TOTAL_HITS_THRESHOLD = 1000;
+
+    // Bumped whenever the document layout changes; an index written with another version is rebuilt
+    private static final String INDEX_VERSION = "4";
+    private static final String VERSION_KEY = "indexVersion";
+    private static final String LAST_SYNCED_KEY = "lastSyncedAt";
+
+    // Rows committed slightly out of updatedAt order are still picked up after a restart
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+    private static final int PRUNE_BATCH_SIZE = 1000;
+
     @Autowired
     private PatentRepository patentRepository;
-    
+
+    @Autowired
+    private TrademarkRepository trademarkRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SearchRankingProperties rankingProperties;
+
+    @Value("${search.index.path:${user.dir}/search-index}")
+    private String indexPath;
+
+    // Upper and lower bounds on how long a write may stay invisible to searches
+    @Value("${search.index.nrt.max-stale-seconds:1.0}")
+    private double maxStaleSeconds;
+
+    @Value("${search.index.nrt.min-stale-seconds:0.05}")
+    private double minStaleSeconds;
+
+    // Durability only; searches see writes through the NRT reopen thread long before they are committed
+    @Value("${search.index.commit-interval-seconds:30}")
+    private long commitIntervalSeconds;
+
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+    private Similarity similarity;
+    private SimpleQueryParser textParser;
     private Directory indexDirectory;
-    private IndexReader indexReader;
-    private IndexSearcher indexSearcher;
-    private StandardAnalyzer analyzer;
-    
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private ScheduledExecutorService commitScheduler;
+    private LocalDateTime lastSyncedAt;
+    private volatile boolean ready = false;
+
+    // Serializes syncs with each other only. While one runs, commits record the point it started from,
+    // so a restart does not skip rows the sync has not reached yet.
+    private final Object syncLock = new Object();
+    private boolean syncing;
+    private LocalDateTime syncResumePoint;
+    // Documents written by change events during a sync; the sync's copy of those rows may be older
+    private final Set<Term> changedDuringSync = new HashSet<>();
+
+    // nanoTime of the oldest write not yet visible to searches, 0 when none is pending
+    private final AtomicLong pendingSince = new AtomicLong();
+    private Timer refreshLagTimer;
+
+    // Parsers are immutable once configured, so one instance serves every query.
+    // Free text matches term by term across the boosted fields; trademarks map mark and goods/services onto title and abstract
     @PostConstruct
+    public void configureRanking() {
+        similarity = new BM25Similarity(rankingProperties.getBm25K1(), rankingProperties.getBm25B());
+        BooleanClause.Occur operator = "OR".equalsIgnoreCase(rankingProperties.getDefaultOperator())
+                ? BooleanClause.Occur.SHOULD
+                : BooleanClause.Occur.MUST;
+
+        textParser = new SimpleQueryParser(analyzer, Map.copyOf(rankingProperties.getBoosts()));
+        textParser.setDefaultOperator(operator);
+    }
+
+    // Opened once the context is up so the mock data generator has already populated the table
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
         try {
-            buildIndex();
+            openIndex();
+            startNearRealTime();
+            syncFromDatabase();
+            // Delete events only reach a running index; rows removed while the application was down are
+            // found once here
+            long removed = pruneDeletedAssets();
+            if (removed > 0) {
+                searcherManager.maybeRefreshBlocking();
+                System.out.println("Search index pruned " + removed + " deleted assets");
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
-    
-    public void buildIndex() throws IOException {
-        analyzer = new StandardAnalyzer();
-        indexDirectory = new ByteBuffersDirectory();
-        
+
+    @PreDestroy
+    public void close() throws IOException {
+        ready = false;
+        if (commitScheduler != null) {
+            commitScheduler.shutdown();
+        }
+        if (reopenThread != null) {
+            reopenThread.close();
+        }
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (indexWriter != null) {
+            commit();
+            indexWriter.close();
+        }
+    }
+
+    // Memory-mapped index under search.index.path; it resumes from its last commit point
+    private void openIndex() throws IOException {
+        Path path = Paths.get(indexPath);
+        Files.createDirectories(path);
+        indexDirectory = new MMapDirectory(path);
+
+        Map<String, String> commitData = DirectoryReader.indexExists(indexDirectory)
+                ? SegmentInfos.readLatestCommit(indexDirectory).getUserData()
+                : Map.of();
+        boolean compatible = INDEX_VERSION.equals(commitData.get(VERSION_KEY));
+
         IndexWriterConfig config = new IndexWriterConfig(analyzer);
-        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
-        
-        try (IndexWriter writer = new IndexWriter(indexDirectory, config)) {
-            List<Patent> patents = patentRepository.findAll();
-            
-            for (Patent patent : patents) {
-                Document doc = new Document();
-                
-                doc.add(new StringField("id", patent.getId().toString(), Field.Store.YES));
-                doc.add(new TextField("title", patent.getTitle(), Field.Store.YES));
-                doc.add(new TextField("abstract", patent.getAbstractText(), Field.Store.YES));
-                doc.add(new TextField("assignee", patent.getAssignee(), Field.Store.YES));
-                doc.add(new TextField("inventors", patent.getInventors(), Field.Store.YES));
-                doc.add(new StringField("jurisdiction", patent.getJurisdiction(), Field.Store.YES));
-                doc.add(new StringField("status", patent.getStatus(), Field.Store.YES));
-                
-                writer.addDocument(doc);
-            }
-        }
-        
-        indexReader = DirectoryReader.open(indexDirectory);
-        indexSearcher = new IndexSearcher(indexReader);
-    }
-    
+        config.setSimilarity(similarity);
+        config.setOpenMode(compatible ? IndexWriterConfig.OpenMode.CREATE_OR_APPEND : IndexWriterConfig.OpenMode.CREATE);
+        indexWriter = new IndexWriter(indexDirectory, config);
+
+        lastSyncedAt = compatible && commitData.containsKey(LAST_SYNCED_KEY)
+                ? LocalDateTime.parse(commitData.get(LAST_SYNCED_KEY))
+                : null;
+        System.out.println("Search index opened at " + path
+                + (lastSyncedAt != null ? ", last synced " + lastSyncedAt : ", empty"));
+    }
+
+    // Searchers come from the long-lived writer, reopened in the background within the NRT window
+    private void startNearRealTime() throws IOException {
+        searcherManager = new SearcherManager(indexWriter, true, true, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setSimilarity(similarity);
+                return searcher;
+            }
+        });
+        searcherManager.addListener(new ReferenceManager.RefreshListener() {
+            private long refreshing;
+
+            @Override
+            public void beforeRefresh() {
+                refreshing = pendingSince.getAndSet(0);
+            }
+
+            @Override
+            public void afterRefresh(boolean didRefresh) {
+                if (refreshing != 0) {
+                    refreshLagTimer.record(System.nanoTime() - refreshing, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+
+        reopenThread = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, maxStaleSeconds, minStaleSeconds);
+        reopenThread.setName("search-index-nrt-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+
+        commitScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        commitScheduler.scheduleWithFixedDelay(this::commitIfChanged,
+                commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+
+        refreshLagTimer = Timer.builder("search.index.refresh.lag")
+                .description("Time from an index write until a searcher that sees it is opened")
+                .register(meterRegistry);
+        Gauge.builder("search.index.pending.age", pendingSince,
+                        since -> since.get() == 0 ? 0 : (System.nanoTime() - since.get()) / 1_000_000.0)
+                .description("Age in milliseconds of the oldest write not yet visible to searches")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // Upserts assets changed since the last commit. Deletes reach the index through delete events and a
+    // rebuild; nothing here scans the whole index. Pages are read without the monitor and only written
+    // under it, so an event-driven update never waits on a database round trip of the sync.
+    public void syncFromDatabase() throws IOException {
+        synchronized (syncLock) {
+            LocalDateTime since;
+            synchronized (this) {
+                syncResumePoint = lastSyncedAt;
+                syncing = true;
+                changedDuringSync.clear();
+                since = lastSyncedAt != null ? lastSyncedAt.minus(SYNC_OVERLAP) : LocalDateTime.of(1970, 1, 1, 0, 0);
+            }
+            LocalDateTime newest;
+            long upserted;
+            try {
+                SyncProgress patents = syncPages(TYPE_PATENT, since, patentRepository::findSyncBatchAfter, this::toDocument);
+                SyncProgress trademarks = syncPages(TYPE_TRADEMARK, since, trademarkRepository::findSyncBatchAfter, this::toDocument);
+                newest = latest(patents.newest, trademarks.newest);
+                upserted = patents.upserted + trademarks.upserted;
+            } finally {
+                synchronized (this) {
+                    syncing = false;
+                    changedDuringSync.clear();
+                }
+            }
+            synchronized (this) {
+                lastSyncedAt = latest(lastSyncedAt, newest);
+                commit();
+            }
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            System.out.println("✅ Search index synced: " + upserted + " upserted, "
+                    + indexWriter.getDocStats().numDocs + " documents");
+        }
+    }
+
+    // Walks rows changed since the given time in (updatedAt, id) order, one index range per page
+    private <T extends IpAsset> SyncProgress syncPages(String type, LocalDateTime since,
+                                                       BiFunction<LocalDateTime, Long, List<T>> pageAfter,
+                                                       Function<T, Document> toDocument) throws IOException {
+        SyncProgress progress = new SyncProgress();
+        LocalDateTime afterUpdatedAt = since;
+        Long afterId = 0L;
+        while (true) {
+            List<T> page = pageAfter.apply(afterUpdatedAt, afterId);
+            if (page.isEmpty()) {
+                return progress;
+            }
+            synchronized (this) {
+                for (T asset : page) {
+                    Term uid = uidTerm(type, asset.getId());
+                    // A change event has already indexed this row from a read at least as new as the page
+                    if (!changedDuringSync.contains(uid)) {
+                        indexWriter.updateDocument(uid, toDocument.apply(asset));
+                        progress.upserted++;
+                    }
+                    progress.newest = latest(progress.newest, asset.getUpdatedAt());
+                }
+            }
+            T last = page.get(page.size() - 1);
+            afterUpdatedAt = last.getUpdatedAt();
+            afterId = last.getId();
+        }
+    }
+
+    private static class SyncProgress {
+        private long upserted;
+        private LocalDateTime newest;
+    }
+
+    // Drops and re-adds every asset, e.g. after a bulk change or deletes that bypassed JPA
+    public void rebuildIndex() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                indexWriter.deleteAll();
+                lastSyncedAt = null;
+            }
+            syncFromDatabase();
+        }
+    }
+
+    // Bulk-loaded rows carry the load time as updatedAt, so an incremental sync picks them all up
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkLoaded(IpAssetsBulkLoadedEvent event) {
+        if (indexWriter == null || event.isIndexed()) {
+            return;
+        }
+        try {
+            syncFromDatabase();
+        } catch (IOException e) {
+            System.err.println("Index sync after bulk load failed: " + e.getMessage());
+        }
+    }
+
+    // Writes committed assets the caller already holds, e.g. an importer's batch, without reading them back;
+    // returns false when the index is not open yet and the startup sync will pick them up instead
+    public synchronized boolean indexAssets(List<? extends IpAsset> assets) throws IOException {
+        if (indexWriter == null) {
+            return false;
+        }
+        for (IpAsset asset : assets) {
+            if (asset instanceof Patent) {
+                indexWriter.updateDocument(uidTerm(TYPE_PATENT, asset.getId()), toDocument((Patent) asset));
+            } else if (asset instanceof Trademark) {
+                indexWriter.updateDocument(uidTerm(TYPE_TRADEMARK, asset.getId()), toDocument((Trademark) asset));
+            } else {
+                continue;
+            }
+            lastSyncedAt = latest(lastSyncedAt, asset.getUpdatedAt());
+        }
+        pendingSince.compareAndSet(0, System.nanoTime());
+        return true;
+    }
+
+    // Applies a committed insert, update or delete to the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssetChanged(IpAssetChangedEvent event) {
+        if (indexWriter == null) {
+            return;
+        }
+        boolean saved = event.getAction() == IpAssetChangedEvent.Action.SAVED;
+        try {
+            if (Patent.class.isAssignableFrom(event.getAssetType())) {
+                Term uid = uidTerm(TYPE_PATENT, event.getId());
+                if (syncing) {
+                    changedDuringSync.add(uid);
+                }
+                Optional<Patent> patent = saved ? patentRepository.findById(event.getId()) : Optional.empty();
+                if (patent.isPresent()) {
+                    indexWriter.updateDocument(uid, toDocument(patent.get()));
+                    lastSyncedAt = latest(lastSyncedAt, patent.get().getUpdatedAt());
+                } else {
+                    indexWriter.deleteDocuments(uid);
+                }
+            } else if (Trademark.class.isAssignableFrom(event.getAssetType())) {
+                Term uid = uidTerm(TYPE_TRADEMARK, event.getId());
+                if (syncing) {
+                    changedDuringSync.add(uid);
+                }
+                Optional<Trademark> trademark = saved ? trademarkRepository.findById(event.getId()) : Optional.empty();
+                if (trademark.isPresent()) {
+                    indexWriter.updateDocument(uid, toDocument(trademark.get()));
+                    lastSyncedAt = latest(lastSyncedAt, trademark.get().getUpdatedAt());
+                } else {
+                    indexWriter.deleteDocuments(uid);
+                }
+            } else {
+                return;
+            }
+            pendingSince.compareAndSet(0, System.nanoTime());
+        } catch (IOException e) {
+            System.err.println("Failed to update search index for " + event.getAssetType().getSimpleName()
+                    + " " + event.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private long pruneDeletedAssets() throws IOException {
+        long removed = 0;
+        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
+            List<Long> patentIds = new ArrayList<>();
+            List<Long> trademarkIds = new ArrayList<>();
+            for (LeafReaderContext leaf : reader.leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                NumericDocValues idValues = DocValues.getNumeric(leaf.reader(), "id");
+                SortedDocValues typeValues = DocValues.getSorted(leaf.reader(), "type");
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if ((liveDocs != null && !liveDocs.get(doc)) || !idValues.advanceExact(doc)) {
+                        continue;
+                    }
+                    Long id = idValues.longValue();
+                    boolean trademark = typeValues.advanceExact(doc)
+                            && TYPE_TRADEMARK.equals(typeValues.lookupOrd(typeValues.ordValue()).utf8ToString());
+                    if (trademark) {
+                        trademarkIds.add(id);
+                        if (trademarkIds.size() == PRUNE_BATCH_SIZE) {
+                            removed += deleteMissing(TYPE_TRADEMARK, trademarkIds, trademarkRepository.findExistingIds(trademarkIds));
+                            trademarkIds.clear();
+                        }
+                    } else {
+                        patentIds.add(id);
+                        if (patentIds.size() == PRUNE_BATCH_SIZE) {
+                            removed += deleteMissing(TYPE_PATENT, patentIds, patentRepository.findExistingIds(patentIds));
+                            patentIds.clear();
+                        }
+                    }
+                }
+            }
+            if (!patentIds.isEmpty()) {
+                removed += deleteMissing(TYPE_PATENT, patentIds, patentRepository.findExistingIds(patentIds));
+            }
+            if (!trademarkIds.isEmpty()) {
+                removed += deleteMissing(TYPE_TRADEMARK, trademarkIds, trademarkRepository.findExistingIds(trademarkIds));
+            }
+        }
+        return removed;
+    }
+
+    private long deleteMissing(String type, List<Long> ids, List<Long> existingIds) throws IOException {
+        Set<Long> existing = new HashSet<>(existingIds);
+        long removed = 0;
+        for (Long id : ids) {
+            if (!existing.contains(id)) {
+                indexWriter.deleteDocuments(uidTerm(type, id));
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private synchronized void commitIfChanged() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                commit();
+            }
+        } catch (IOException e) {
+            System.err.println("Search index commit failed: " + e.getMessage());
+        }
+    }
+
+    private synchronized void commit() throws IOException {
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(VERSION_KEY, INDEX_VERSION);
+        LocalDateTime synced = syncing ? syncResumePoint : lastSyncedAt;
+        if (synced != null) {
+            commitData.put(LAST_SYNCED_KEY, synced.toString());
+        }
+        indexWriter.setLiveCommitData(commitData.entrySet());
+        indexWriter.commit();
+    }
+
+    private Term uidTerm(String type, Long id) {
+        return new Term("uid", type + ":" + id);
+    }
+
+    private LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private Document toDocument(Patent patent) {
+        Document doc = new Document();
+
+        doc.add(new StringField("uid", TYPE_PATENT + ":" + patent.getId(), Field.Store.NO));
+        addKeyword(doc, "type", TYPE_PATENT);
+        doc.add(new NumericDocValuesField("id", patent.getId()));
+        addText(doc, "title", patent.getTitle());
+        addText(doc, "abstract", patent.getAbstractText());
+        addText(doc, "assignee", patent.getAssignee());
+        addText(doc, "inventors", patent.getInventors());
+        addKeyword(doc, "jurisdiction", patent.getJurisdiction());
+        addKeyword(doc, "status", patent.getStatus());
+        // Filtered case-insensitively like jurisdiction and status, but faceted under its stored spelling
+        addKeyword(doc, "technology", upperCase(patent.getTechnology()), patent.getTechnology());
+        // Undated assets get Long.MIN_VALUE, which no year range matches
+        long filingDate = toEpochMillis(patent.getFilingDate());
+        doc.add(new LongPoint("filingDate", filingDate));
+        doc.add(new NumericDocValuesField("filingDate", filingDate));
+        doc.add(new NumericDocValuesField("grantDate", toEpochMillis(patent.getGrantDate())));
+        doc.add(new NumericDocValuesField("citationCount",
+                patent.getCitationCount() != null ? patent.getCitationCount() : 0));
+
+        return doc;
+    }
+
+    // Trademarks share the patent field names so one query ranks both asset types together
+    private Document toDocument(Trademark trademark) {
+        Document doc = new Document();
+
+        doc.add(new StringField("uid", TYPE_TRADEMARK + ":" + trademark.getId(), Field.Store.NO));
+        addKeyword(doc, "type", TYPE_TRADEMARK);
+        doc.add(new NumericDocValuesField("id", trademark.getId()));
+        addText(doc, "title", trademark.getMark() != null ? trademark.getMark() : trademark.getTitle());
+        addText(doc, "abstract", trademark.getGoodsServices());
+        addText(doc, "assignee", trademark.getAssignee());
+        addText(doc, "niceClasses", trademark.getNiceClasses());
+        addKeyword(doc, "jurisdiction", trademark.getJurisdiction());
+        addKeyword(doc, "status", trademark.getStatus());
+        // Undated assets get Long.MIN_VALUE, which no year range matches
+        long filingDate = toEpochMillis(trademark.getFilingDate());
+        doc.add(new LongPoint("filingDate", filingDate));
+        doc.add(new NumericDocValuesField("filingDate", filingDate));
+
+        return doc;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // True if every order of the sort can be answered by the index (unsorted means relevance)
+    public boolean supportsSort(org.springframework.data.domain.Sort sort) {
+        for (org.springframework.data.domain.Sort.Order order : sort) {
+            if (!SORT_FIELDS.containsKey(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public List<Long> search(String queryStr, int maxResults) throws Exception {
-        QueryParser parser = new QueryParser("title", analyzer);
-        Query query = parser.parse(queryStr);
-        
-        TopDocs topDocs = indexSearcher.search(query, maxResults);
-        List<Long> results = new ArrayList<>();
-        
-        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-            Document doc = indexSearcher.doc(scoreDoc.doc);
-            results.add(Long.parseLong(doc.get("id")));
-        }
-        
-        return results;
-    }
-    
+        Query query = buildTextQuery(queryStr);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, maxResults);
+            List<Long> results = new ArrayList<>();
+
+            for (long id : readIds(searcher, topDocs.scoreDocs, 0)) {
+                results.add(id);
+            }
+
+            return results;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Runs the free-text query plus the request's filters and returns one page of ids with the exact hit count.
+    // With facets the top-N and the facet counts are gathered by the same pass over the matches.
+    public IndexSearchResult searchPatents(PatentSearchRequest request, int offset, int limit,
+                                           org.springframework.data.domain.Sort sort,
+                                           boolean withFacets) throws Exception {
+        return searchPatents(request, offset, limit, null, sort, withFacets);
+    }
+
+    // Continues after the sort values of the previous page's last hit. Only limit + 1 hits are kept
+    // however deep the page is, and the total is not counted unless facets visit every match anyway.
+    public IndexSearchResult searchPatentsAfter(PatentSearchRequest request, Object[] after, int limit,
+                                                org.springframework.data.domain.Sort sort,
+                                                boolean withFacets) throws Exception {
+        return searchPatents(request, 0, limit, new FieldDoc(Integer.MAX_VALUE, Float.NaN, after), sort, withFacets);
+    }
+
+    private IndexSearchResult searchPatents(PatentSearchRequest request, int offset, int limit, FieldDoc after,
+                                            org.springframework.data.domain.Sort sort,
+                                            boolean withFacets) throws Exception {
+        Query query = buildPatentQuery(request);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searchPatents(searcher, query, offset, limit, after, toLuceneSort(sort), withFacets);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private IndexSearchResult searchPatents(IndexSearcher searcher, Query query, int offset, int limit,
+                                            FieldDoc after, Sort sort, boolean withFacets) throws IOException {
+        // One hit past the page tells whether another page follows
+        TopFieldCollector topCollector = TopFieldCollector.create(sort, offset + limit + 1, after,
+                withFacets ? Integer.MAX_VALUE : TOTAL_HITS_THRESHOLD);
+        PatentFacetsDTO facets = null;
+
+        if (withFacets) {
+            FacetCountCollector facetCollector = new FacetCountCollector();
+            searcher.search(query, MultiCollector.wrap(topCollector, facetCollector));
+            facets = facetCollector.getFacets();
+        } else {
+            searcher.search(query, topCollector);
+        }
+
+        TopDocs topDocs = topCollector.topDocs();
+        long totalHits;
+        if (topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO) {
+            totalHits = topDocs.totalHits.value;
+        } else if (after == null) {
+            totalHits = searcher.count(query);
+        } else {
+            totalHits = -1;
+        }
+
+        ScoreDoc[] hits = topDocs.scoreDocs;
+        int end = Math.min(offset + limit, hits.length);
+        ScoreDoc[] page = offset < end ? Arrays.copyOfRange(hits, offset, end) : new ScoreDoc[0];
+        List<Long> ids = new ArrayList<>();
+        for (long id : readIds(searcher, page, 0)) {
+            ids.add(id);
+        }
+        Object[] nextAfter = hits.length > end && page.length > 0 ? ((FieldDoc) page[page.length - 1]).fields : null;
+
+        return new IndexSearchResult(ids, totalHits, facets, nextAfter);
+    }
+
+    // One relevance-ranked query over patents and trademarks; type narrows it to a single asset type
+    public IndexAssetSearchResult searchAssets(String queryStr, String type, int offset, int limit) throws Exception {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(buildTextQuery(queryStr), BooleanClause.Occur.MUST);
+        if (hasText(type)) {
+            builder.add(new TermQuery(new Term("type", type.trim().toUpperCase())), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, Math.max(offset + limit, 1));
+            long totalHits = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+
+            long[] ids = readIds(searcher, topDocs.scoreDocs, offset);
+            String[] types = readTypes(searcher, topDocs.scoreDocs, offset);
+            List<IndexAssetHit> hits = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                hits.add(new IndexAssetHit(types[i], ids[i], topDocs.scoreDocs[offset + i].score));
+            }
+            return new IndexAssetSearchResult(hits, totalHits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Facet counts for a request without fetching any hits
+    public PatentFacetsDTO facetPatents(PatentSearchRequest request) throws Exception {
+        Query query = buildPatentQuery(request);
+        FacetCountCollector facetCollector = new FacetCountCollector();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            searcher.search(query, facetCollector);
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return facetCollector.getFacets();
+    }
+
+    // Makes every write so far visible without waiting for the reopen thread
     public void refreshIndex() throws IOException {
-        if (indexReader != null) {
-            indexReader.close();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    // Reads the "id" doc value of hits[from..]; no stored-field block is decompressed per hit
+    private long[] readIds(IndexSearcher searcher, ScoreDoc[] hits, int from) throws IOException {
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        long[] ids = new long[Math.max(hits.length - from, 0)];
+        NumericDocValues values = null;
+        int currentLeaf = -1;
+        // Doc values iterate forward only, so visit hits in docID order and write back in rank order
+        for (int i : inDocOrder(hits, from)) {
+            int leaf = ReaderUtil.subIndex(hits[from + i].doc, leaves);
+            if (leaf != currentLeaf) {
+                values = DocValues.getNumeric(leaves.get(leaf).reader(), "id");
+                currentLeaf = leaf;
+            }
+            ids[i] = values.advanceExact(hits[from + i].doc - leaves.get(leaf).docBase) ? values.longValue() : -1;
+        }
+        return ids;
+    }
+
+    private String[] readTypes(IndexSearcher searcher, ScoreDoc[] hits, int from) throws IOException {
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        String[] types = new String[Math.max(hits.length - from, 0)];
+        SortedDocValues values = null;
+        int currentLeaf = -1;
+        for (int i : inDocOrder(hits, from)) {
+            int leaf = ReaderUtil.subIndex(hits[from + i].doc, leaves);
+            if (leaf != currentLeaf) {
+                values = DocValues.getSorted(leaves.get(leaf).reader(), "type");
+                currentLeaf = leaf;
+            }
+            types[i] = values.advanceExact(hits[from + i].doc - leaves.get(leaf).docBase)
+                    ? values.lookupOrd(values.ordValue()).utf8ToString()
+                    : TYPE_PATENT;
+        }
+        return types;
+    }
+
+    private int[] inDocOrder(ScoreDoc[] hits, int from) {
+        return IntStream.range(0, Math.max(hits.length - from, 0))
+                .boxed()
+                .sorted(Comparator.comparingInt(i -> hits[from + i].doc))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // Text clauses score; filter clauses only restrict the match set and are cached by Lucene
+    private Query buildPatentQuery(PatentSearchRequest request) throws Exception {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (hasText(request.getQuery())) {
+            builder.add(buildTextQuery(request.getQuery()), BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        builder.add(new TermQuery(new Term("type", TYPE_PATENT)), BooleanClause.Occur.FILTER);
+
+        if (hasText(request.getJurisdiction())) {
+            builder.add(new TermQuery(new Term("jurisdiction", request.getJurisdiction().trim().toUpperCase())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (hasText(request.getStatus())) {
+            builder.add(new TermQuery(new Term("status", request.getStatus().trim().toUpperCase())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (hasText(request.getTechnology())) {
+            builder.add(new TermQuery(new Term("technology", upperCase(request.getTechnology().trim()))),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (hasText(request.getAssignee())) {
+            builder.add(wordPrefixQuery("assignee", request.getAssignee()), BooleanClause.Occur.FILTER);
+        }
+        if (hasText(request.getInventor())) {
+            builder.add(wordPrefixQuery("inventors", request.getInventor()), BooleanClause.Occur.FILTER);
         }
-        indexReader = DirectoryReader.open(indexDirectory);
-        indexSearcher = new IndexSearcher(indexReader);
+        if (request.getYearFrom() != null || request.getYearTo() != null) {
+            long from = request.getYearFrom() != null
+                    ? toEpochMillis(LocalDateTime.of(request.getYearFrom(), 1, 1, 0, 0))
+                    : Long.MIN_VALUE + 1;
+            long to = request.getYearTo() != null
+                    ? toEpochMillis(LocalDateTime.of(request.getYearTo() + 1, 1, 1, 0, 0)) - 1
+                    : Long.MAX_VALUE;
+            builder.add(new IndexOrDocValuesQuery(
+                    LongPoint.newRangeQuery("filingDate", from, to),
+                    NumericDocValuesField.newSlowRangeQuery("filingDate", from, to)),
+                    BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    // Every word of a name filter must start a word of the field, the same rule as the database fallback in
+    // PatentSpecifications. Values are taken literally, so operator characters in names need no escaping.
+    private Query wordPrefixQuery(String field, String value) throws IOException {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int words = 0;
+        try (TokenStream tokens = analyzer.tokenStream(field, value)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                builder.add(new PrefixQuery(new Term(field, term.toString())), BooleanClause.Occur.FILTER);
+                words++;
+            }
+            tokens.end();
+        }
+        return words == 0 ? new MatchAllDocsQuery() : builder.build();
+    }
+
+    // Simple query syntax: "phrases", -exclusions, prefix* and a|b; malformed input degrades to plain terms
+    private Query buildTextQuery(String queryStr) {
+        return textParser.parse(queryStr.trim());
+    }
+
+    private Sort toLuceneSort(org.springframework.data.domain.Sort sort) {
+        if (sort.isUnsorted()) {
+            return RELEVANCE_SORT;
+        }
+        List<SortField> fields = new ArrayList<>();
+        for (org.springframework.data.domain.Sort.Order order : sort) {
+            SortField field = new SortField(SORT_FIELDS.get(order.getProperty()),
+                    SortField.Type.LONG, order.isDescending());
+            fields.add(field);
+        }
+        fields.addAll(Arrays.asList(RELEVANCE_SORT.getSort()));
+        return new Sort(fields.toArray(new SortField[0]));
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private void addText(Document doc, String name, String value) {
+        if (value != null) {
+            doc.add(new TextField(name, value, Field.Store.NO));
+        }
+    }
+
+    // Exact-match field that can also be faceted through sorted doc values
+    private void addKeyword(Document doc, String name, String value) {
+        addKeyword(doc, name, value, value);
+    }
+
+    private void addKeyword(Document doc, String name, String term, String facetValue) {
+        if (term != null) {
+            doc.add(new StringField(name, term, Field.Store.NO));
+            doc.add(new SortedDocValuesField(name, new BytesRef(facetValue)));
+        }
+    }
+
+    private String upperCase(String value) {
+        return value != null ? value.toUpperCase(Locale.ROOT) : null;
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,729 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.CorpusStatusDTO;
+import com.example.globalipplatform.project.config.CorpusGeneratorProperties;
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.repository.TrademarkRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToDoubleFunction;
+
+// Scale-test corpus: millions of patents and trademarks with skewed offices, assignees and citations and
+// with patent families spread over several offices. The corpus is cut into fixed partitions, each with its
+// own SplittableRandom seeded from the run's seed, so the content depends only on seed and sizes, never on
+// how many threads load it. A partition goes into BulkIngestionService in batches of one transaction each,
+// indexed as soon as they commit. That also makes reruns cheap: a batch whose first record exists is skipped.
+@Service
+public class SyntheticCorpusGenerator {
+
+    // Numbers are 9 digits from this base plus the record's position, so they cannot meet the 8-digit
+    // numbers of HybridDataGenerator and need no uniqueness bookkeeping
+    private static final long NUMBER_BASE = 100_000_000L;
+    // Statuses and fees are worked out against a fixed date, not the clock, to stay reproducible
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int FIRST_YEAR = 2000;
+    private static final int LAST_YEAR = 2024;
+    // Filing volumes grow about 4% a year
+    private static final Weighted FILING_YEARS = filingYearWeights();
+    // Earlier records of the partition that later ones may cite
+    private static final int CITATION_WINDOW = 2048;
+    private static final String[] KIND_CODES = {"A1", "B1", "B2"};
+    // Tail index of forward citations: a few patents are cited far more than the mean of 1 / (alpha - 1)
+    private static final double CITATION_PARETO_ALPHA = 1.5;
+
+    private static final String[] OFFICES = {"USPTO", "CIPO", "JPO", "EPO", "KIPO", "DPMA", "WIPO", "UKIPO"};
+    // Where families are first filed
+    private static final Weighted PRIORITY_OFFICES = new Weighted(0.30, 0.24, 0.16, 0.10, 0.10, 0.05, 0.03, 0.02);
+    // Where they are extended to; WIPO (PCT) and EPO lead
+    private static final Weighted EXTENSION_OFFICES = new Weighted(0.20, 0.12, 0.12, 0.22, 0.08, 0.06, 0.16, 0.04);
+    // Share of examined applications that are granted
+    private static final Map<String, Double> GRANT_RATES = Map.of(
+            "USPTO", 0.70, "CIPO", 0.55, "JPO", 0.75, "EPO", 0.60, "KIPO", 0.65, "DPMA", 0.50, "UKIPO", 0.55);
+    // Same codes as HybridDataGenerator
+    private static final Map<String, String> COUNTRIES = Map.of(
+            "USPTO", "US", "EPO", "EP", "WIPO", "WO", "JPO", "JP", "KIPO", "KR", "CIPO", "CN", "UKIPO", "GB", "DPMA", "DE");
+    private static final String[] APPLICANT_COUNTRIES = {"US", "DE", "FR", "GB", "CH", "NL", "SE", "JP", "KR", "CN"};
+
+    private static final String[] TECHNOLOGIES = {
+            "Software", "Telecom", "Electronics", "Medical", "AI", "Automotive", "Energy", "Biotech"};
+    private static final Weighted TECHNOLOGY_WEIGHTS = new Weighted(0.20, 0.16, 0.16, 0.12, 0.12, 0.10, 0.08, 0.06);
+    private static final Map<String, String[]> IPC = Map.of(
+            "AI", new String[]{"G06N", "G06F", "G06V"},
+            "Biotech", new String[]{"C12N", "A61K", "C07K"},
+            "Electronics", new String[]{"H01L", "G02F", "H05K"},
+            "Energy", new String[]{"H01M", "H02J", "F03D"},
+            "Telecom", new String[]{"H04W", "H04L", "H04B"},
+            "Medical", new String[]{"A61B", "G16H", "A61M"},
+            "Automotive", new String[]{"B60W", "F02D", "B60L"},
+            "Software", new String[]{"G06F", "G06Q", "H04L"});
+    private static final Map<String, String[]> SUBJECTS = Map.of(
+            "AI", new String[]{"Neural Network Training", "Image Recognition", "Speech Synthesis", "Anomaly Detection", "Language Modelling", "Reinforcement Learning"},
+            "Biotech", new String[]{"Gene Editing", "Protein Expression", "Antibody Screening", "Cell Culture", "mRNA Delivery", "Enzyme Engineering"},
+            "Electronics", new String[]{"Semiconductor Packaging", "Display Panels", "Power Transistors", "Sensor Arrays", "Memory Cells", "Thermal Management"},
+            "Energy", new String[]{"Battery Management", "Solar Cells", "Wind Turbines", "Grid Storage", "Fuel Cells", "Charging Stations"},
+            "Telecom", new String[]{"Wireless Communication", "Beam Forming", "Channel Coding", "Network Slicing", "Signal Analysis", "Satellite Links"},
+            "Medical", new String[]{"Drug Delivery", "Surgical Robotics", "Patient Monitoring", "Medical Imaging", "Implantable Devices", "Diagnostic Assays"},
+            "Automotive", new String[]{"Driver Assistance", "Engine Control", "Electric Drivetrains", "Vehicle Sensors", "Brake Systems", "Autonomous Navigation"},
+            "Software", new String[]{"Data Processing", "Database Indexing", "Cloud Scheduling", "Access Control", "Payment Processing", "Search Ranking"});
+    private static final String[] ACTIONS = {"Method", "System", "Apparatus", "Device", "Process", "Composition"};
+    private static final String[] ADJECTIVES = {"Advanced", "Novel", "Improved", "Enhanced", "Integrated", "Automated", "Adaptive", "Distributed"};
+
+    // The big filers, most frequent first; the rest come from a long tail of generated names
+    private static final String[] MAJOR_ASSIGNEES = {
+            "Samsung Electronics", "Huawei Technologies", "IBM", "Canon", "LG Electronics", "Intel Corporation",
+            "Microsoft", "Qualcomm", "Sony Corporation", "Google", "Apple", "Toyota", "BOE Technology",
+            "Siemens", "Bosch", "Panasonic", "Ericsson", "Nokia", "Pfizer", "Novartis"};
+    private static final Weighted MAJOR_ASSIGNEE_WEIGHTS = zipf(MAJOR_ASSIGNEES.length);
+    private static final double MAJOR_ASSIGNEE_SHARE = 0.35;
+    private static final int TAIL_ASSIGNEES = 50_000;
+    private static final String[] SYLLABLES = {
+            "ac", "bel", "cor", "dyn", "el", "fen", "gra", "hel", "ion", "jor", "kal", "lum", "mer", "nov", "or",
+            "pax", "qui", "ros", "sol", "tek", "ul", "vex", "win", "xen", "yor", "zen"};
+    private static final String[] COMPANY_SUFFIXES = {"Labs", "Systems", "Technologies", "GmbH", "Co., Ltd.", "Inc.", "AG", "Corp"};
+
+    private static final String[] FIRST_NAMES = {
+            "John", "Sarah", "Michael", "Emma", "David", "Maria", "Ahmed", "Wei", "Hiroshi", "Min-jun", "Yuki",
+            "Anna", "Lukas", "Priya", "Carlos", "Olga", "James", "Linda", "Jin", "Fatima"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Chen", "Patel", "Kim", "Singh", "Garcia", "Wang", "Tanaka", "Li", "Mueller",
+            "Suzuki", "Park", "Zhang", "Brown", "Rossi", "Ivanova", "Nguyen", "Lee", "Sato"};
+
+    private static final String[] MARK_TYPES = {"WORD", "FIGURATIVE", "WORD_FIGURATIVE", "3D"};
+    private static final Weighted MARK_TYPE_WEIGHTS = new Weighted(0.70, 0.15, 0.13, 0.02);
+    // Nice classes 9 (software), 35 (business) and 42 (IT services) dominate filings
+    private static final Weighted NICE_CLASS_WEIGHTS = niceClassWeights();
+
+    @Autowired
+    private CorpusGeneratorProperties properties;
+
+    @Autowired
+    private BulkIngestionService bulkIngestionService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private TrademarkRepository trademarkRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "corpus-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Progress current;
+
+    @PreDestroy
+    public void shutdown() {
+        // Partitions already committed are skipped by the next run
+        runner.shutdownNow();
+    }
+
+    // Runs after startup rather than in @PostConstruct, so the application serves requests meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup() {
+        if (properties.isEnabled()) {
+            start(null, null, null);
+        }
+    }
+
+    // Null arguments fall back to the mock.data.corpus settings; one run at a time
+    public synchronized CorpusStatusDTO start(Long patents, Long trademarks, Long seed) {
+        if (current != null && current.state == CorpusStatusDTO.State.RUNNING) {
+            throw new IllegalStateException("A corpus is already being generated");
+        }
+        Progress progress = new Progress(
+                seed != null ? seed : properties.getSeed(),
+                patents != null ? patents : properties.getPatents(),
+                trademarks != null ? trademarks : properties.getTrademarks());
+        if (progress.patents < 0 || progress.trademarks < 0) {
+            throw new IllegalArgumentException("Sizes cannot be negative");
+        }
+        if (progress.patents > 900_000_000L || progress.trademarks > 900_000_000L) {
+            throw new IllegalArgumentException("At most 900,000,000 records of each type");
+        }
+        current = progress;
+        runner.execute(() -> run(progress));
+        return progress.snapshot();
+    }
+
+    // The running or last finished run, null before the first
+    public CorpusStatusDTO status() {
+        Progress progress = current;
+        return progress == null ? null : progress.snapshot();
+    }
+
+    private void run(Progress progress) {
+        System.out.println("Generating " + progress.patents + " patents and " + progress.trademarks
+                + " trademarks (seed " + progress.seed + ")");
+        int partitionSize = Math.max(1, properties.getPartitionSize());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int threads = Math.max(1, properties.getThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "corpus-partition-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // One seed per partition, drawn in partition order, so partitions are independent of scheduling
+            SplittableRandom root = new SplittableRandom(progress.seed);
+            List<Future<?>> partitions = new ArrayList<>();
+            for (long start = 0; start < progress.patents; start += partitionSize) {
+                long first = start;
+                long end = Math.min(start + partitionSize, progress.patents);
+                long partitionSeed = root.nextLong();
+                partitions.add(workers.submit(() -> loadPatents(partitionSeed, first, end, progress, batchSize)));
+            }
+            for (long start = 0; start < progress.trademarks; start += partitionSize) {
+                long first = start;
+                long end = Math.min(start + partitionSize, progress.trademarks);
+                long partitionSeed = root.nextLong();
+                partitions.add(workers.submit(() -> loadTrademarks(partitionSeed, first, end, progress, batchSize)));
+            }
+            for (Future<?> partition : partitions) {
+                partition.get();
+            }
+
+            // Batches written before the index was open are left to a sync, which pages without blocking writers
+            if (progress.unindexed.get() && searchIndexService.isReady()) {
+                searchIndexService.syncFromDatabase();
+            }
+            progress.finish(CorpusStatusDTO.State.COMPLETED, null);
+            System.out.println("✅ Corpus generated: " + progress.patentsWritten + " patents, "
+                    + progress.trademarksWritten + " trademarks, " + progress.partitionsSkipped
+                    + " partitions already present");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(CorpusStatusDTO.State.FAILED, "Interrupted; start again to resume");
+        } catch (ExecutionException e) {
+            System.err.println("❌ Corpus generation failed: " + e.getCause());
+            progress.finish(CorpusStatusDTO.State.FAILED, String.valueOf(e.getCause()));
+        } catch (Exception e) {
+            System.err.println("❌ Corpus generation failed: " + e);
+            progress.finish(CorpusStatusDTO.State.FAILED, e.toString());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Each batch commits on its own and goes into the search index straight away, as the importer does
+    private Void loadPatents(long seed, long first, long end, Progress progress, int batchSize) throws IOException {
+        PatentPartition partition = new PatentPartition(seed, first, end);
+        boolean loaded = false;
+        while (partition.hasNext()) {
+            List<Patent> batch = take(partition, batchSize);
+            if (patentBatchLoaded(batch.get(0), progress.seed)) {
+                continue;
+            }
+            progress.patentsWritten.addAndGet(bulkIngestionService.ingestPatents(batch, true));
+            // Committed, and the entities now carry their ids
+            progress.index(searchIndexService.indexAssets(batch));
+            loaded = true;
+        }
+        if (!loaded) {
+            progress.partitionsSkipped.incrementAndGet();
+        }
+        return null;
+    }
+
+    private Void loadTrademarks(long seed, long first, long end, Progress progress, int batchSize) throws IOException {
+        TrademarkPartition partition = new TrademarkPartition(seed, first, end);
+        boolean loaded = false;
+        while (partition.hasNext()) {
+            List<Trademark> batch = take(partition, batchSize);
+            if (trademarkBatchLoaded(batch.get(0), progress.seed)) {
+                continue;
+            }
+            progress.trademarksWritten.addAndGet(bulkIngestionService.ingestTrademarks(batch, true));
+            progress.index(searchIndexService.indexAssets(batch));
+            loaded = true;
+        }
+        if (!loaded) {
+            progress.partitionsSkipped.incrementAndGet();
+        }
+        return null;
+    }
+
+    // The kind code and office of a patent number are drawn from the seed, so every office and kind is
+    // looked up for the number of the batch's first position
+    private boolean patentBatchLoaded(Patent first, long seed) {
+        String number = first.getPublicationNumber().substring(first.getPublicationNumber().indexOf('-') + 1);
+        List<String> candidates = new ArrayList<>();
+        for (String country : COUNTRIES.values()) {
+            for (String kind : KIND_CODES) {
+                candidates.add(country + "-" + number + "-" + kind);
+            }
+        }
+        return alreadyLoaded(first, patentRepository.findByAssetNumberIn(candidates), seed);
+    }
+
+    private boolean trademarkBatchLoaded(Trademark first, long seed) {
+        return alreadyLoaded(first, trademarkRepository.findByAssetNumberIn(List.of(first.getAssetNumber())), seed);
+    }
+
+    // A batch counts as loaded when its first record is there as generated. A record at the same position
+    // with other content comes from another seed, and loading next to it would mix two corpora.
+    private static boolean alreadyLoaded(IpAsset first, List<? extends IpAsset> existing, long seed) {
+        if (existing.isEmpty()) {
+            return false;
+        }
+        IpAsset found = existing.get(0);
+        if (existing.size() == 1 && found.getAssetNumber().equals(first.getAssetNumber())
+                && Objects.equals(found.getTitle(), first.getTitle())) {
+            return true;
+        }
+        throw new IllegalStateException("Synthetic record " + found.getAssetNumber()
+                + " was generated with another seed than " + seed
+                + "; delete the synthetic records or start again with their seed");
+    }
+
+    private static <T> List<T> take(Iterator<T> records, int count) {
+        List<T> batch = new ArrayList<>(count);
+        while (batch.size() < count && records.hasNext()) {
+            batch.add(records.next());
+        }
+        return batch;
+    }
+
+    // Patents first..end-1, made on demand so a partition never sits in memory as a whole. Records come
+    // in families: one priority filing followed by its extensions to other offices, which share title,
+    // abstract, applicant and family id. A family cut off by the partition end simply stays smaller.
+    private static class PatentPartition implements Iterator<Patent> {
+        private final SplittableRandom random;
+        private final long end;
+        private long position;
+        private final String[] recent = new String[CITATION_WINDOW];
+        private long recentCount;
+
+        private Patent family; // the priority filing whose extensions are being produced
+        private String[] familyOffices;
+        private int familyMember;
+
+        PatentPartition(long seed, long first, long end) {
+            this.random = new SplittableRandom(seed);
+            this.position = first;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public Patent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (family == null || familyMember == familyOffices.length) {
+                startFamily();
+            }
+            Patent patent = member(familyOffices[familyMember++]);
+            recent[(int) (recentCount++ % CITATION_WINDOW)] = patent.getAssetNumber();
+            position++;
+            return patent;
+        }
+
+        private void startFamily() {
+            // About 45% of inventions are filed in one office only; the rest spread geometrically
+            int size = 1;
+            if (random.nextDouble() >= 0.45) {
+                size = 2;
+                while (size < OFFICES.length && random.nextDouble() < 0.45) {
+                    size++;
+                }
+            }
+            familyOffices = new String[size];
+            familyOffices[0] = OFFICES[PRIORITY_OFFICES.pick(random)];
+            for (int i = 1; i < size; i++) {
+                String office;
+                do {
+                    office = OFFICES[EXTENSION_OFFICES.pick(random)];
+                } while (contains(familyOffices, i, office));
+                familyOffices[i] = office;
+            }
+            familyMember = 0;
+
+            String technology = TECHNOLOGIES[TECHNOLOGY_WEIGHTS.pick(random)];
+            String[] subjects = SUBJECTS.get(technology);
+            String subject = subjects[random.nextInt(subjects.length)];
+            String title = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + ACTIONS[random.nextInt(ACTIONS.length)] + " for " + subject;
+
+            family = new Patent();
+            family.setFamilyId("SYN-F" + (NUMBER_BASE + position));
+            family.setTechnology(technology);
+            family.setTitle(title);
+            family.setAbstractText(article(title) + " " + title.toLowerCase() + " is disclosed. The " + subject.toLowerCase()
+                    + " " + (random.nextBoolean() ? "system" : "method") + " comprises "
+                    + (random.nextInt(4) + 2) + " stages that "
+                    + (random.nextBoolean() ? "reduce latency and cost." : "improve accuracy and reliability."));
+            family.setAssignee(assignee(random));
+            // Regional and PCT first filings still come from a national applicant
+            family.setAssigneeCountry("EPO".equals(familyOffices[0]) || "WIPO".equals(familyOffices[0])
+                    ? APPLICANT_COUNTRIES[random.nextInt(APPLICANT_COUNTRIES.length)]
+                    : COUNTRIES.get(familyOffices[0]));
+            int inventorCount = 1 + (int) Math.min(9, Math.round(Math.abs(random.nextGaussian()) * 2));
+            List<String> inventors = new ArrayList<>(inventorCount);
+            for (int i = 0; i < inventorCount; i++) {
+                inventors.add(person(random));
+            }
+            family.setInventors(String.join(", ", inventors));
+            String[] ipc = IPC.get(technology);
+            family.setIpcClasses(ipc[random.nextInt(ipc.length)] + " " + (random.nextInt(99) + 1) + "/"
+                    + (random.nextInt(99) + 1) + ", " + ipc[random.nextInt(ipc.length)] + " "
+                    + (random.nextInt(99) + 1) + "/" + (random.nextInt(999) + 1));
+            family.setCpcClasses(family.getIpcClasses());
+            // Median 18 claims, rarely above 60
+            family.setClaimCount((int) Math.max(1, Math.min(120, Math.round(Math.exp(2.9 + 0.5 * random.nextGaussian())))));
+            family.setDrawingCount(random.nextInt(20) + 1);
+            double type = random.nextDouble();
+            family.setPatentType(type < 0.92 ? "UTILITY" : type < 0.98 ? "DESIGN" : "PLANT");
+            family.setFilingDate(filingDate(random));
+        }
+
+        private Patent member(String office) {
+            Patent patent = new Patent();
+            patent.setFamilyId(family.getFamilyId());
+            patent.setTechnology(family.getTechnology());
+            patent.setTitle(family.getTitle());
+            patent.setAbstractText(family.getAbstractText());
+            patent.setDescription(family.getAbstractText());
+            patent.setAssignee(family.getAssignee());
+            patent.setAssigneeCountry(family.getAssigneeCountry());
+            patent.setInventors(family.getInventors());
+            patent.setIpcClasses(family.getIpcClasses());
+            patent.setCpcClasses(family.getCpcClasses());
+            patent.setClaimCount(family.getClaimCount());
+            patent.setDrawingCount(family.getDrawingCount());
+            patent.setPatentType(family.getPatentType());
+            patent.setJurisdiction(office);
+
+            // Extensions follow within the 12-month priority year; EP often comes via PCT at 30 months
+            LocalDateTime filed = family.getFilingDate();
+            if (familyMember > 0) {
+                boolean viaPct = "EPO".equals(office) && contains(familyOffices, familyMember, "WIPO");
+                filed = filed.plusMonths(viaPct ? 30 : 10 + random.nextInt(3)).plusDays(random.nextInt(28));
+            }
+            patent.setFilingDate(filed);
+            LocalDateTime published = filed.plusMonths(18);
+            if (!published.isAfter(AS_OF)) {
+                patent.setPublicationDate(published);
+            }
+
+            // Pendency is log-normal around 30 months; PCT applications are never granted themselves
+            String status;
+            LocalDateTime decided = filed.plusDays(Math.round(900 * Math.exp(0.35 * random.nextGaussian())));
+            if ("WIPO".equals(office)) {
+                status = filed.plusMonths(30).isAfter(AS_OF) ? "PENDING" : "EXPIRED";
+            } else if (decided.isAfter(AS_OF)) {
+                status = "PENDING";
+            } else if (random.nextDouble() < GRANT_RATES.get(office)) {
+                // Older grants are increasingly left to lapse
+                double lapsed = Duration.between(decided, AS_OF).toDays() / 365.0 * 0.04;
+                status = random.nextDouble() < lapsed ? "EXPIRED" : "GRANTED";
+                patent.setGrantDate(decided);
+            } else {
+                status = "ABANDONED";
+            }
+            patent.setStatus(status);
+            boolean granted = patent.getGrantDate() != null;
+
+            String number = Long.toString(NUMBER_BASE + position);
+            String country = COUNTRIES.get(office);
+            patent.setAssetNumber(country + "-" + number + "-" + (granted ? (random.nextBoolean() ? KIND_CODES[1] : KIND_CODES[2]) : KIND_CODES[0]));
+            patent.setApplicationNumber(country + filed.getYear() + "/" + number);
+            patent.setPublicationNumber(country + "-" + number);
+            if (granted) {
+                patent.setGrantNumber(patent.getAssetNumber());
+            }
+            patent.setLegalStatus("GRANTED".equals(status) ? "Active - Granted"
+                    : "PENDING".equals(status) ? "Pending Examination" : "Inactive");
+            patent.setAnnualFeePaid("GRANTED".equals(status));
+            if ("GRANTED".equals(status)) {
+                patent.setNextFeeDate(AS_OF.plusDays(random.nextInt(365) + 1));
+            }
+            patent.setExaminer(person(random) + ", Examiner");
+            patent.setClaims(claims(patent.getClaimCount(), family.getTitle()));
+
+            // Forward citations are heavy-tailed (Lomax, i.e. Pareto shifted to start at 0) and grow with age
+            double years = Duration.between(filed, AS_OF).toDays() / 365.0;
+            double pareto = Math.pow(1 - random.nextDouble(), -1 / CITATION_PARETO_ALPHA) - 1;
+            patent.setCitationCount((int) Math.min(5000, Math.floor(pareto * Math.min(years, 15) / 3)));
+            // Backward citations point at earlier records of the partition
+            int cited = (int) Math.min(recentCount, random.nextInt(6));
+            List<String> references = new ArrayList<>(cited);
+            for (int i = 0; i < cited; i++) {
+                long back = 1 + random.nextLong(Math.min(recentCount, CITATION_WINDOW));
+                references.add(recent[(int) ((recentCount - back) % CITATION_WINDOW)]);
+            }
+            patent.setCitedPatents(references.isEmpty() ? null : String.join(", ", references));
+            patent.setIsCorePatent(random.nextDouble() < 0.01);
+            return patent;
+        }
+    }
+
+    // Trademarks first..end-1; marks are pronounceable syllable words over skewed Nice classes
+    private static class TrademarkPartition implements Iterator<Trademark> {
+        private final SplittableRandom random;
+        private final long end;
+        private long position;
+
+        TrademarkPartition(long seed, long first, long end) {
+            this.random = new SplittableRandom(seed);
+            this.position = first;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public Trademark next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Trademark trademark = new Trademark();
+            String mark = capitalize(word(random, 2 + random.nextInt(2)));
+            String office = OFFICES[PRIORITY_OFFICES.pick(random)];
+            trademark.setAssetNumber("TM-" + (NUMBER_BASE + position));
+            trademark.setMark(mark);
+            trademark.setTitle(mark);
+            trademark.setAssignee(random.nextDouble() < 0.5 ? mark + " " + COMPANY_SUFFIXES[random.nextInt(COMPANY_SUFFIXES.length)]
+                    : assignee(random));
+            trademark.setJurisdiction(office);
+            trademark.setAssigneeCountry(COUNTRIES.get(office));
+            trademark.setMarkType(MARK_TYPES[MARK_TYPE_WEIGHTS.pick(random)]);
+            trademark.setIsLogo(!"WORD".equals(trademark.getMarkType()));
+
+            int classCount = 1 + (random.nextDouble() < 0.3 ? 1 + random.nextInt(3) : 0);
+            int[] classes = new int[classCount];
+            for (int i = 0; i < classCount; i++) {
+                classes[i] = NICE_CLASS_WEIGHTS.pick(random) + 1;
+            }
+            String niceClasses = Arrays.stream(classes).distinct().sorted()
+                    .mapToObj(String::valueOf).reduce((a, b) -> a + "," + b).orElse("9");
+            trademark.setNiceClasses(niceClasses);
+            trademark.setGoodsServices("Goods and services in class " + niceClasses);
+
+            LocalDateTime filed = filingDate(random);
+            trademark.setFilingDate(filed);
+            LocalDateTime registered = filed.plusMonths(6 + random.nextInt(12));
+            String status;
+            if (registered.isAfter(AS_OF)) {
+                status = "PENDING";
+            } else if (random.nextDouble() < 0.1) {
+                status = "ABANDONED";
+            } else {
+                // Registrations run ten years and about half are renewed
+                boolean lapsed = registered.plusYears(10).isBefore(AS_OF) && random.nextBoolean();
+                status = lapsed ? "EXPIRED" : "REGISTERED";
+                trademark.setRegistrationNumber("R-" + (NUMBER_BASE + position));
+                trademark.setRenewalDate(registered.plusYears(lapsed ? 10 : 20).toLocalDate().toString());
+            }
+            trademark.setStatus(status);
+            trademark.setApplicationNumber(COUNTRIES.get(office) + filed.getYear() + "/" + (NUMBER_BASE + position));
+            trademark.setIsCoreTrademark(random.nextDouble() < 0.01);
+            position++;
+            return trademark;
+        }
+    }
+
+    private static LocalDateTime filingDate(SplittableRandom random) {
+        int year = FIRST_YEAR + FILING_YEARS.pick(random);
+        return LocalDateTime.of(year, 1, 1, 0, 0).plusDays(random.nextInt(365));
+    }
+
+    private static String assignee(SplittableRandom random) {
+        if (random.nextDouble() < MAJOR_ASSIGNEE_SHARE) {
+            return MAJOR_ASSIGNEES[MAJOR_ASSIGNEE_WEIGHTS.pick(random)];
+        }
+        // The tail is itself Zipf-like (log-uniform rank); each rank always spells the same name
+        int rank = (int) Math.min(TAIL_ASSIGNEES - 1, Math.floor(Math.pow(TAIL_ASSIGNEES, random.nextDouble())) - 1);
+        return capitalize(wordFor(rank)) + " " + COMPANY_SUFFIXES[rank % COMPANY_SUFFIXES.length];
+    }
+
+    private static String person(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String claims(int count, String title) {
+        String subject = title.toLowerCase();
+        StringBuilder claims = new StringBuilder("1. ").append(article(title)).append(' ').append(subject)
+                .append(" comprising a processor and a memory storing instructions.");
+        for (int i = 2; i <= Math.min(count, 5); i++) {
+            claims.append('\n').append(i).append(". The ").append(subject).append(" of claim ").append(i - 1)
+                    .append(", further comprising a controller.");
+        }
+        return claims.toString();
+    }
+
+    private static String article(String noun) {
+        return "AEIOU".indexOf(Character.toUpperCase(noun.charAt(0))) >= 0 ? "An" : "A";
+    }
+
+    private static String word(SplittableRandom random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    // Syllables spelling rank in base 26
+    private static String wordFor(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank;
+        do {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        } while (value > 0);
+        if (word.length() < 4) {
+            word.append(SYLLABLES[(rank * 7 + 3) % SYLLABLES.length]);
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static boolean contains(String[] values, int length, String value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Weighted zipf(int size) {
+        return weighted(size, rank -> 1.0 / (rank + 1));
+    }
+
+    private static Weighted filingYearWeights() {
+        return weighted(LAST_YEAR - FIRST_YEAR + 1, offset -> Math.pow(1.04, offset));
+    }
+
+    private static Weighted niceClassWeights() {
+        return weighted(45, index -> {
+            int niceClass = index + 1;
+            return niceClass == 9 || niceClass == 35 || niceClass == 42 ? 8.0
+                    : niceClass == 25 || niceClass == 41 || niceClass == 5 ? 3.0 : 1.0;
+        });
+    }
+
+    private static Weighted weighted(int size, IntToDoubleFunction weight) {
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = weight.applyAsDouble(i);
+        }
+        return new Weighted(weights);
+    }
+
+    // Picks an index with probability proportional to its weight (binary search over the running sums)
+    private static class Weighted {
+        private final double[] cumulative;
+
+        Weighted(double... weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        int pick(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    // Written by the partition threads, read by status requests
+    private static class Progress {
+        private final long seed;
+        private final long patents;
+        private final long trademarks;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong patentsWritten = new AtomicLong();
+        private final AtomicLong trademarksWritten = new AtomicLong();
+        private final AtomicLong partitionsSkipped = new AtomicLong();
+        // Set when a batch committed before the search index was open
+        private final AtomicBoolean unindexed = new AtomicBoolean();
+        private volatile CorpusStatusDTO.State state = CorpusStatusDTO.State.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+        private volatile String message;
+
+        Progress(long seed, long patents, long trademarks) {
+            this.seed = seed;
+            this.patents = patents;
+            this.trademarks = trademarks;
+        }
+
+        void index(boolean indexed) {
+            if (!indexed) {
+                unindexed.set(true);
+            }
+        }
+
+        void finish(CorpusStatusDTO.State finalState, String failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            message = failure;
+            state = finalState;
+        }
+
+        CorpusStatusDTO snapshot() {
+            long elapsedMs = Duration.ofNanos((finishedAt != null ? finishedNanos : System.nanoTime()) - startNanos)
+                    .toMillis();
+            long written = patentsWritten.get() + trademarksWritten.get();
+            return CorpusStatusDTO.builder()
+                    .state(state)
+                    .seed(seed)
+                    .patents(patents)
+                    .trademarks(trademarks)
+                    .patentsWritten(patentsWritten.get())
+                    .trademarksWritten(trademarksWritten.get())
+                    .partitionsSkipped(partitionsSkipped.get())
+                    .recordsPerSecond(elapsedMs > 0 ? written * 1000 / elapsedMs : 0)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+
+import javax.xml.stream.XMLInputFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+
+// Mapping helpers shared by the readers
+final class AssetFields {
+
+    private static final DateTimeFormatter BASIC_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Map<String, String> OFFICES = Map.of(
+            "US", "USPTO", "EP", "EPO", "WO", "WIPO", "JP", "JPO", "KR", "KIPO",
+            "CA", "CIPO", "GB", "UKIPO", "DE", "DPMA");
+
+    private AssetFields() {
+    }
+
+    // Bulk files are untrusted input: no DTDs and no external entities
+    static XMLInputFactory xmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    // Same shape as the generated numbers, e.g. US-11857123-B2
+    static String assetNumber(String country, String docNumber, String kind) {
+        if (isBlank(country) || isBlank(docNumber)) {
+            return null;
+        }
+        return isBlank(kind) ? country + "-" + docNumber : country + "-" + docNumber + "-" + kind;
+    }
+
+    static String office(String country) {
+        return country == null ? null : OFFICES.getOrDefault(country, country);
+    }
+
+    // yyyyMMdd as used by USPTO and DOCDB; null if missing or not a date
+    static LocalDateTime date(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim(), BASIC_DATE).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static Integer integer(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String join(Collection<String> values) {
+        return values.isEmpty() ? null : String.join(", ", values);
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Cuts text to the column sizes, since one long claim set would otherwise fail a whole batch
+    static <T extends IpAsset> T fit(T asset) {
+        asset.setAssetNumber(limit(asset.getAssetNumber(), 255));
+        asset.setTitle(limit(asset.getTitle(), 500));
+        asset.setDescription(limit(asset.getDescription(), 1000));
+        asset.setJurisdiction(limit(asset.getJurisdiction(), 100));
+        asset.setStatus(limit(asset.getStatus(), 50));
+        asset.setAbstractText(limit(asset.getAbstractText(), 5000));
+        asset.setAssignee(limit(asset.getAssignee(), 255));
+        asset.setAssigneeCountry(limit(asset.getAssigneeCountry(), 100));
+        asset.setIpcClasses(limit(asset.getIpcClasses(), 1000));
+        asset.setCpcClasses(limit(asset.getCpcClasses(), 1000));
+        asset.setLegalStatus(limit(asset.getLegalStatus(), 100));
+        asset.setTechnology(limit(asset.getTechnology(), 100));
+        asset.setFamilyId(limit(asset.getFamilyId(), 255));
+        if (asset instanceof Patent) {
+            Patent patent = (Patent) asset;
+            patent.setClaims(limit(patent.getClaims(), 5000));
+            patent.setCitedPatents(limit(patent.getCitedPatents(), 5000));
+            patent.setInventors(limit(patent.getInventors(), 5000));
+            patent.setPatentType(limit(patent.getPatentType(), 50));
+            patent.setApplicationNumber(limit(patent.getApplicationNumber(), 255));
+            patent.setPublicationNumber(limit(patent.getPublicationNumber(), 255));
+            patent.setGrantNumber(limit(patent.getGrantNumber(), 255));
+            patent.setExaminer(limit(patent.getExaminer(), 255));
+        } else if (asset instanceof Trademark) {
+            Trademark trademark = (Trademark) asset;
+            trademark.setMark(limit(trademark.getMark(), 255));
+            trademark.setMarkType(limit(trademark.getMarkType(), 255));
+            trademark.setNiceClasses(limit(trademark.getNiceClasses(), 255));
+            trademark.setGoodsServices(limit(trademark.getGoodsServices(), 2000));
+            trademark.setRegistrationNumber(limit(trademark.getRegistrationNumber(), 255));
+            trademark.setApplicationNumber(limit(trademark.getApplicationNumber(), 255));
+            trademark.setImageUrl(limit(trademark.getImageUrl(), 255));
+            trademark.setColorClaim(limit(trademark.getColorClaim(), 255));
+            trademark.setOppositionPeriod(limit(trademark.getOppositionPeriod(), 255));
+            trademark.setRenewalDate(limit(trademark.getRenewalDate(), 255));
+        }
+        return asset;
+    }
+
+    private static String limit(String value, int max) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() <= max ? trimmed : trimmed.substring(0, max);
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.DTO.ImportStatusDTO;
+import com.example.globalipplatform.project.config.ImportProperties;
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import com.example.globalipplatform.project.service.BulkIngestionService;
+import com.example.globalipplatform.project.service.SearchIndexService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Loads bulk data files in two overlapping stages:
+// - a parser thread reads and maps records and hands them over in batches through a bounded queue,
+//   blocking while the writer is behind;
+// - the writer upserts each batch in its own transaction, adds it to the search index and then records
+//   the batch in the file's checkpoint.
+// Memory therefore holds at most queueCapacity + 2 batches, whatever the file size. An interrupted import
+// started again on the same file skips the records the checkpoint already counts.
+@Service
+public class AssetImportService {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Batch END = new Batch(List.of(), -1);
+
+    @Autowired
+    private ImportProperties properties;
+
+    @Autowired
+    private BulkIngestionService bulkIngestionService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "asset-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Progress current;
+
+    @PreDestroy
+    public void shutdown() {
+        // The checkpoint keeps what was committed; the next start resumes there
+        runner.shutdownNow();
+    }
+
+    // Starts importing a file below the import directory in the background; one import runs at a time
+    public synchronized ImportStatusDTO start(String fileName, String format) throws IOException {
+        if (current != null && current.state == ImportStatusDTO.State.RUNNING) {
+            throw new IllegalStateException("Already importing " + current.file.getFileName());
+        }
+        Path file = resolve(fileName);
+        Progress progress = new Progress(file, ImportFormat.resolve(format, file.getFileName().toString()));
+        current = progress;
+        runner.execute(() -> run(progress));
+        return progress.snapshot();
+    }
+
+    // The running or last finished import, null before the first
+    public ImportStatusDTO status() {
+        Progress progress = current;
+        return progress == null ? null : progress.snapshot();
+    }
+
+    private void run(Progress progress) {
+        System.out.println("Importing " + progress.file + " as " + progress.format);
+        try {
+            importFile(progress);
+            progress.finish(ImportStatusDTO.State.COMPLETED, null);
+            System.out.println("Imported " + progress.recordsWritten + " records from " + progress.file.getFileName()
+                    + " (" + progress.rejected + " rejected)");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(ImportStatusDTO.State.FAILED, "Interrupted; start again to resume");
+        } catch (Exception e) {
+            System.err.println("Import of " + progress.file + " failed: " + e);
+            progress.finish(ImportStatusDTO.State.FAILED, e.toString());
+        }
+    }
+
+    private void importFile(Progress progress) throws IOException, InterruptedException {
+        ImportCheckpoint checkpoint = ImportCheckpoint.load(progress.file, progress.format);
+        progress.resumedFrom = checkpoint.getRecords();
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        AtomicReference<Throwable> parseFailure = new AtomicReference<>();
+
+        try (AssetRecordReader reader = open(progress.file, progress.format)) {
+            Thread parser = new Thread(() -> parse(reader, progress, queue, parseFailure),
+                    "asset-import-parser");
+            parser.setDaemon(true);
+            parser.start();
+            try {
+                Batch batch;
+                while ((batch = queue.take()) != END) {
+                    write(batch.assets);
+                    checkpoint.save(batch.position);
+                    progress.recordsWritten += batch.assets.size();
+                }
+            } finally {
+                // Stops a parser still waiting on the queue after a failed write
+                parser.interrupt();
+                parser.join();
+            }
+        }
+        if (parseFailure.get() != null) {
+            throw new IOException("Reading " + progress.file.getFileName() + " failed after "
+                    + progress.recordsRead + " records", parseFailure.get());
+        }
+        checkpoint.delete();
+    }
+
+    // Positions count records from the start of the file, so they stay valid across restarts
+    private void parse(AssetRecordReader reader, Progress progress, BlockingQueue<Batch> queue,
+                       AtomicReference<Throwable> failure) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long position = 0;
+        try {
+            List<IpAsset> assets = new ArrayList<>(batchSize);
+            IpAsset asset;
+            while ((asset = reader.next()) != null) {
+                position++;
+                progress.recordsRead = position;
+                progress.rejected = reader.rejected();
+                // Already committed by an earlier run
+                if (position <= progress.resumedFrom) {
+                    continue;
+                }
+                assets.add(asset);
+                if (assets.size() == batchSize) {
+                    queue.put(new Batch(assets, position));
+                    assets = new ArrayList<>(batchSize);
+                }
+            }
+            progress.rejected = reader.rejected();
+            if (!assets.isEmpty()) {
+                queue.put(new Batch(assets, position));
+            }
+        } catch (InterruptedException e) {
+            // The writer gave up and is not waiting for the end marker
+            return;
+        } catch (Throwable e) {
+            failure.set(e);
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<IpAsset> assets) throws IOException {
+        List<Patent> patents = new ArrayList<>();
+        List<Trademark> trademarks = new ArrayList<>();
+        for (IpAsset asset : assets) {
+            if (asset instanceof Patent) {
+                patents.add((Patent) asset);
+            } else if (asset instanceof Trademark) {
+                trademarks.add((Trademark) asset);
+            }
+        }
+        if (!patents.isEmpty()) {
+            bulkIngestionService.upsertPatents(patents, true);
+            // Committed, and the entities now carry their ids
+            searchIndexService.indexAssets(patents);
+        }
+        if (!trademarks.isEmpty()) {
+            bulkIngestionService.upsertTrademarks(trademarks, true);
+            searchIndexService.indexAssets(trademarks);
+        }
+    }
+
+    private AssetRecordReader open(Path file, ImportFormat format) throws IOException {
+        InputStream input = decompress(file);
+        try {
+            switch (format) {
+                case USPTO_XML:
+                    return new UsptoGrantXmlReader(new BufferedReader(
+                            new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE));
+                case DOCDB_XML:
+                    return new DocdbXmlReader(input);
+                default:
+                    return new JsonLinesAssetReader(input, objectMapper);
+            }
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    // .gz files and the first file of a .zip (as published by USPTO) are inflated while they are read
+    private InputStream decompress(Path file) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+        if (name.endsWith(".zip")) {
+            ZipInputStream zip = new ZipInputStream(input);
+            ZipEntry entry;
+            do {
+                entry = zip.getNextEntry();
+            } while (entry != null && entry.isDirectory());
+            if (entry == null) {
+                zip.close();
+                throw new IOException(file.getFileName() + " contains no file");
+            }
+            return zip;
+        }
+        return input;
+    }
+
+    private Path resolve(String fileName) throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("file is required");
+        }
+        Path directory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No such file in the import directory: " + fileName);
+        }
+        // Compared after resolving links, so neither ../ nor a symlink can reach outside the directory
+        if (!file.toRealPath().startsWith(directory.toRealPath())) {
+            throw new IllegalArgumentException("Files can only be imported from " + directory);
+        }
+        return file;
+    }
+
+    private static class Batch {
+        private final List<IpAsset> assets;
+        private final long position; // records from the start of the file up to and including this batch
+
+        Batch(List<IpAsset> assets, long position) {
+            this.assets = assets;
+            this.position = position;
+        }
+    }
+
+    // Written by the import threads, read by status requests
+    private static class Progress {
+        private final Path file;
+        private final ImportFormat format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private volatile ImportStatusDTO.State state = ImportStatusDTO.State.RUNNING;
+        private volatile long resumedFrom;
+        private volatile long recordsRead;
+        private volatile long recordsWritten;
+        private volatile long rejected;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+        private volatile String message;
+
+        Progress(Path file, ImportFormat format) {
+            this.file = file;
+            this.format = format;
+        }
+
+        void finish(ImportStatusDTO.State finalState, String failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            message = failure;
+            state = finalState;
+        }
+
+        ImportStatusDTO snapshot() {
+            long elapsedMs = Duration.ofNanos((finishedAt != null ? finishedNanos : System.nanoTime()) - startNanos)
+                    .toMillis();
+            return ImportStatusDTO.builder()
+                    .file(file.getFileName().toString())
+                    .format(format.name())
+                    .state(state)
+                    .resumedFrom(resumedFrom)
+                    .recordsRead(recordsRead)
+                    .recordsWritten(recordsWritten)
+                    .rejected(rejected)
+                    .recordsPerSecond(elapsedMs > 0 ? recordsWritten * 1000 / elapsedMs : 0)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .build();
+        }
+    }
+}
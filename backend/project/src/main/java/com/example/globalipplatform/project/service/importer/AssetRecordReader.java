@@ -0,0 +1,16 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Pulls one mapped record at a time from a bulk data file, so only the record being parsed is in memory
+public interface AssetRecordReader extends Closeable {
+
+    // The next patent or trademark, without an id; null at the end of the file
+    IpAsset next() throws IOException;
+
+    // Records skipped so far because they were malformed or could not be mapped
+    long rejected();
+}
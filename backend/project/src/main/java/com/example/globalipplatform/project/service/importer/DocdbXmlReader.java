@@ -0,0 +1,229 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+// EPO DOCDB exchange files are one large document; the cursor moves through it and stops after each
+// <exchange-document>, so memory holds one record at a time. Elements are matched by local name, which
+// covers both the namespaced (exch:) and the plain variants.
+public class DocdbXmlReader implements AssetRecordReader {
+
+    private static final int MAX_TEXT = 5000;
+
+    private final InputStream input;
+    private final XMLStreamReader reader;
+    private long rejected;
+
+    public DocdbXmlReader(InputStream input) throws IOException {
+        this.input = input;
+        try {
+            this.reader = AssetFields.xmlInputFactory().createXMLStreamReader(input, "UTF-8");
+        } catch (XMLStreamException e) {
+            throw new IOException("Not a DOCDB file", e);
+        }
+    }
+
+    @Override
+    public IpAsset next() throws IOException {
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && "exchange-document".equals(reader.getLocalName())) {
+                    Patent patent = readDocument();
+                    if (patent != null) {
+                        return AssetFields.fit(patent);
+                    }
+                    rejected++;
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            // The stream cannot be resynchronised after malformed XML
+            throw new IOException("Malformed DOCDB XML at line " + e.getLocation().getLineNumber(), e);
+        }
+    }
+
+    @Override
+    public long rejected() {
+        return rejected;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // the stream is closed below either way
+        }
+        input.close();
+    }
+
+    // Reads up to the matching end tag; null for deletions and records without a number
+    private Patent readDocument() throws XMLStreamException {
+        String country = reader.getAttributeValue(null, "country");
+        String docNumber = reader.getAttributeValue(null, "doc-number");
+        String kind = reader.getAttributeValue(null, "kind");
+        // DOCDB status: n(ew), A(mended), D(eleted); deletions have nothing to load
+        boolean deleted = "D".equals(reader.getAttributeValue(null, "status"));
+
+        Patent patent = new Patent();
+        patent.setAssetNumber(AssetFields.assetNumber(country, docNumber, kind));
+        patent.setJurisdiction(AssetFields.office(country));
+        patent.setPublicationNumber(docNumber);
+        patent.setPublicationDate(AssetFields.date(reader.getAttributeValue(null, "date-publ")));
+        patent.setFamilyId(reader.getAttributeValue(null, "family-id"));
+        patent.setIsCorePatent(false);
+        // B and C kinds are granted (and amended) specifications, A kinds application publications
+        boolean granted = kind != null && (kind.startsWith("B") || kind.startsWith("C"));
+        patent.setStatus(granted ? "GRANTED" : "PENDING");
+        patent.setLegalStatus(granted ? "Active - Granted" : "Pending Examination");
+        if (granted) {
+            patent.setGrantNumber(docNumber);
+            patent.setGrantDate(patent.getPublicationDate());
+        }
+
+        Deque<String> path = new ArrayDeque<>();
+        StringBuilder text = new StringBuilder();
+        Map<String, String> group = new HashMap<>();
+        String scheme = null;
+        String titleLang = null;
+        String title = null;
+        String abstractLang = null;
+        boolean capturingAbstract = false;
+        StringBuilder abstractText = new StringBuilder();
+        String partyFormat = null;
+        // Parties come in docdb (upper case) and docdba (as filed) variants; the latter reads better
+        Map<String, Set<String>> applicants = new HashMap<>();
+        Map<String, Set<String>> inventors = new HashMap<>();
+        Set<String> ipc = new LinkedHashSet<>();
+        Set<String> cpc = new LinkedHashSet<>();
+        Set<String> cited = new LinkedHashSet<>();
+
+        path.push("exchange-document");
+        while (!path.isEmpty() && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                path.push(name);
+                text.setLength(0);
+                switch (name) {
+                    case "document-id":
+                    case "patent-classification":
+                        group.clear();
+                        break;
+                    case "classification-scheme":
+                        scheme = reader.getAttributeValue(null, "scheme");
+                        break;
+                    case "applicant":
+                    case "inventor":
+                        partyFormat = reader.getAttributeValue(null, "data-format");
+                        break;
+                    case "invention-title":
+                        titleLang = reader.getAttributeValue(null, "lang");
+                        break;
+                    case "abstract":
+                        String lang = reader.getAttributeValue(null, "lang");
+                        // Keep the first abstract unless an English one follows
+                        capturingAbstract = abstractText.length() == 0 || (!"en".equals(abstractLang) && "en".equals(lang));
+                        if (capturingAbstract) {
+                            abstractLang = lang;
+                            abstractText.setLength(0);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(reader.getText());
+                if (capturingAbstract && abstractText.length() < MAX_TEXT) {
+                    abstractText.append(reader.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = path.pop();
+                String parent = path.peek();
+                String value = text.toString().replaceAll("\\s+", " ").trim();
+                switch (name) {
+                    case "document-id":
+                        if ("application-reference".equals(parent) && patent.getApplicationNumber() == null) {
+                            patent.setApplicationNumber(group.get("doc-number"));
+                            patent.setFilingDate(AssetFields.date(group.get("date")));
+                        } else if ("patcit".equals(parent) && group.get("doc-number") != null) {
+                            cited.add(AssetFields.assetNumber(group.get("country"), group.get("doc-number"),
+                                    group.get("kind")));
+                        }
+                        break;
+                    case "text":
+                        // "G06F  16/00  A I" -> G06F 16/00
+                        if ("classification-ipcr".equals(parent)) {
+                            String[] parts = value.split(" ");
+                            if (parts.length >= 2) {
+                                ipc.add(parts[0] + " " + parts[1]);
+                            }
+                        }
+                        break;
+                    case "patent-classification":
+                        if (scheme != null && scheme.startsWith("CPC") && group.get("section") != null) {
+                            cpc.add(group.get("section") + group.getOrDefault("class", "")
+                                    + group.getOrDefault("subclass", "") + " " + group.get("main-group") + "/"
+                                    + group.getOrDefault("subgroup", "00"));
+                        }
+                        scheme = null;
+                        break;
+                    case "name":
+                        if ("applicant-name".equals(parent)) {
+                            applicants.computeIfAbsent(String.valueOf(partyFormat), f -> new LinkedHashSet<>()).add(value);
+                        } else if ("inventor-name".equals(parent)) {
+                            inventors.computeIfAbsent(String.valueOf(partyFormat), f -> new LinkedHashSet<>()).add(value);
+                        }
+                        break;
+                    case "invention-title":
+                        if (title == null || "en".equals(titleLang)) {
+                            title = value;
+                        }
+                        break;
+                    case "abstract":
+                        capturingAbstract = false;
+                        break;
+                    default:
+                        group.put(name, value);
+                        break;
+                }
+            }
+        }
+        if (deleted || patent.getAssetNumber() == null) {
+            return null;
+        }
+
+        Set<String> applicantNames = preferred(applicants);
+        patent.setAssignee(applicantNames.isEmpty() ? null : applicantNames.iterator().next());
+        patent.setInventors(AssetFields.join(preferred(inventors)));
+        patent.setTitle(title);
+        String abstractValue = abstractText.toString().replaceAll("\\s+", " ").trim();
+        patent.setAbstractText(abstractValue.isEmpty() ? null : abstractValue);
+        patent.setDescription(patent.getAbstractText());
+        patent.setIpcClasses(AssetFields.join(ipc));
+        patent.setCpcClasses(AssetFields.join(cpc));
+        patent.setCitedPatents(AssetFields.join(cited));
+        patent.setCitationCount(cited.size());
+        return patent;
+    }
+
+    private Set<String> preferred(Map<String, Set<String>> byFormat) {
+        if (byFormat.containsKey("docdba")) {
+            return byFormat.get("docdba");
+        }
+        return byFormat.values().stream().findFirst().orElse(Set.of());
+    }
+}
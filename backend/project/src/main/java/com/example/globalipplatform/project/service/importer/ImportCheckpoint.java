@@ -0,0 +1,56 @@
+package com.example.globalipplatform.project.service.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+// <file>.checkpoint next to the data file: how many of its records are committed. It only applies to the
+// same file content (size and modification time) read in the same format; anything else starts over.
+final class ImportCheckpoint {
+
+    private final Path path;
+    private final String fingerprint;
+    private final long records;
+
+    private ImportCheckpoint(Path path, String fingerprint, long records) {
+        this.path = path;
+        this.fingerprint = fingerprint;
+        this.records = records;
+    }
+
+    static ImportCheckpoint load(Path file, ImportFormat format) throws IOException {
+        Path path = file.resolveSibling(file.getFileName() + ".checkpoint");
+        String fingerprint = format + "/" + Files.size(file) + "/" + Files.getLastModifiedTime(file).toMillis();
+        long records = 0;
+        if (Files.exists(path)) {
+            Properties saved = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                saved.load(reader);
+            }
+            if (fingerprint.equals(saved.getProperty("fingerprint"))) {
+                records = Long.parseLong(saved.getProperty("records", "0"));
+            } else {
+                System.out.println("Ignoring checkpoint of a different version of " + file);
+            }
+        }
+        return new ImportCheckpoint(path, fingerprint, records);
+    }
+
+    long getRecords() {
+        return records;
+    }
+
+    // Replaces the file in one step, so a crash leaves either the old or the new count
+    void save(long committed) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temp, "fingerprint=" + fingerprint + "\nrecords=" + committed + "\n");
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.globalipplatform.project.service.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    // USPTO full-text grant files: one <us-patent-grant> XML document after another
+    USPTO_XML,
+    // EPO DOCDB exchange files: one document of <exchange-document> records
+    DOCDB_XML,
+    // One JSON object per line with the Patent or Trademark fields and "type"
+    JSON_LINES;
+
+    // Explicit format if given, otherwise guessed from the file name (.gz and .zip are looked through)
+    public static ImportFormat resolve(String format, String fileName) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown import format: " + format);
+            }
+        }
+        String name = fileName.toLowerCase(Locale.ROOT).replaceAll("\\.(gz|zip)$", "");
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        // USPTO grant files are named ipgYYMMDD.xml
+        if (name.startsWith("ipg") && name.endsWith(".xml")) {
+            return USPTO_XML;
+        }
+        if (name.contains("docdb") && name.endsWith(".xml")) {
+            return DOCDB_XML;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + fileName + "; pass format explicitly");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+// One JSON object per line with the entity's field names, e.g. {"type":"TRADEMARK","assetNumber":"TM-1234567",...};
+// "type" defaults to PATENT. Lines are parsed one at a time, so a malformed line costs only its own record and
+// counts as rejected; blank lines are skipped. Ids in the file are ignored.
+public class JsonLinesAssetReader implements AssetRecordReader {
+
+    private final BufferedReader lines;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader patents;
+    private final ObjectReader trademarks;
+    private long rejected;
+
+    public JsonLinesAssetReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+        this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        ObjectReader lenient = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.patents = lenient.forType(Patent.class);
+        this.trademarks = lenient.forType(Trademark.class);
+    }
+
+    @Override
+    public IpAsset next() throws IOException {
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                String type = node.path("type").asText("PATENT");
+                IpAsset asset;
+                if ("PATENT".equalsIgnoreCase(type)) {
+                    asset = patents.readValue(node);
+                } else if ("TRADEMARK".equalsIgnoreCase(type)) {
+                    asset = trademarks.readValue(node);
+                } else {
+                    asset = null;
+                }
+                if (asset != null && !AssetFields.isBlank(asset.getAssetNumber())) {
+                    asset.setId(null);
+                    return AssetFields.fit(asset);
+                }
+            } catch (IOException e) {
+                System.err.println("Skipping JSON record: " + e.getMessage());
+            }
+            rejected++;
+        }
+        return null;
+    }
+
+    @Override
+    public long rejected() {
+        return rejected;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.entity.IpAsset;
+import com.example.globalipplatform.project.entity.Patent;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// USPTO full-text grant files are many XML documents written one after another, which no XML parser accepts
+// as a whole. Lines are collected up to the next <?xml declaration and each grant is parsed on its own, so
+// memory holds one grant at a time. A grant that does not parse is counted and skipped.
+public class UsptoGrantXmlReader implements AssetRecordReader {
+
+    private static final int MAX_TEXT = 5000;
+    // Named entities come from the DTD, which is not read; XML's own five pass through
+    private static final Pattern NAMED_ENTITY = Pattern.compile("&(?!(?:amp|lt|gt|quot|apos);)([A-Za-z][A-Za-z0-9]*);");
+    private static final Map<String, String> ENTITIES = Map.ofEntries(
+            Map.entry("nbsp", " "), Map.entry("lsquo", "\u2018"), Map.entry("rsquo", "\u2019"),
+            Map.entry("ldquo", "\u201C"), Map.entry("rdquo", "\u201D"), Map.entry("ndash", "\u2013"),
+            Map.entry("mdash", "\u2014"), Map.entry("deg", "\u00B0"), Map.entry("plusmn", "\u00B1"),
+            Map.entry("times", "\u00D7"), Map.entry("micro", "\u00B5"), Map.entry("middot", "\u00B7"));
+
+    private final BufferedReader lines;
+    private final XMLInputFactory factory = AssetFields.xmlInputFactory();
+    private final StringBuilder document = new StringBuilder();
+    private String nextDeclaration;
+    private long rejected;
+
+    public UsptoGrantXmlReader(BufferedReader lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public IpAsset next() throws IOException {
+        String xml;
+        while ((xml = nextDocument()) != null) {
+            try {
+                Patent patent = parse(xml);
+                if (patent != null) {
+                    return AssetFields.fit(patent);
+                }
+            } catch (XMLStreamException e) {
+                System.err.println("Skipping unreadable USPTO grant: " + e.getMessage());
+            }
+            rejected++;
+        }
+        return null;
+    }
+
+    @Override
+    public long rejected() {
+        return rejected;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lines.close();
+    }
+
+    private String nextDocument() throws IOException {
+        document.setLength(0);
+        if (nextDeclaration != null) {
+            document.append(nextDeclaration).append('\n');
+            nextDeclaration = null;
+        }
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.startsWith("<?xml") && document.length() > 0) {
+                nextDeclaration = line;
+                break;
+            }
+            // The DTD is never read, so its declaration is dropped
+            if (!line.startsWith("<!DOCTYPE")) {
+                document.append(line.indexOf('&') < 0 ? line : replaceEntities(line)).append('\n');
+            }
+        }
+        return document.toString().isBlank() ? null : document.toString();
+    }
+
+    // Null if the document is not a grant (e.g. a sequence listing)
+    private Patent parse(String xml) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(xml));
+        try {
+            Patent patent = null;
+            Deque<String> path = new ArrayDeque<>();
+            StringBuilder text = new StringBuilder();
+            // Leaf values of the current document-id, classification or addressbook
+            Map<String, String> group = new HashMap<>();
+            StringBuilder title = new StringBuilder();
+            StringBuilder abstractText = new StringBuilder();
+            StringBuilder claim = new StringBuilder();
+            StringBuilder claims = new StringBuilder();
+            Set<String> inventors = new LinkedHashSet<>();
+            Set<String> ipc = new LinkedHashSet<>();
+            Set<String> cpc = new LinkedHashSet<>();
+            Set<String> cited = new LinkedHashSet<>();
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    path.push(name);
+                    text.setLength(0);
+                    switch (name) {
+                        case "us-patent-grant":
+                            patent = new Patent();
+                            patent.setJurisdiction("USPTO");
+                            patent.setStatus("GRANTED");
+                            patent.setLegalStatus("Active - Granted");
+                            patent.setIsCorePatent(false);
+                            break;
+                        case "application-reference":
+                            if (patent != null && reader.getAttributeValue(null, "appl-type") != null) {
+                                patent.setPatentType(reader.getAttributeValue(null, "appl-type").toUpperCase(Locale.ROOT));
+                            }
+                            break;
+                        case "document-id":
+                        case "classification-ipcr":
+                        case "classification-cpc":
+                        case "addressbook":
+                        case "primary-examiner":
+                            group.clear();
+                            break;
+                        case "claim":
+                            claim.setLength(0);
+                            break;
+                        case "claim-text":
+                            claim.append(' ');
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    String chars = reader.getText();
+                    text.append(chars);
+                    if (path.contains("invention-title")) {
+                        title.append(chars);
+                    } else if (path.contains("abstract") && abstractText.length() < MAX_TEXT) {
+                        abstractText.append(chars);
+                    } else if (path.contains("claim") && claims.length() < MAX_TEXT) {
+                        claim.append(chars);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && patent != null) {
+                    String name = path.pop();
+                    String parent = path.peek();
+                    String value = text.toString().trim();
+                    switch (name) {
+                        case "document-id":
+                            documentId(patent, parent, group, cited);
+                            break;
+                        case "classification-ipcr":
+                            addClass(ipc, group);
+                            break;
+                        case "classification-cpc":
+                            addClass(cpc, group);
+                            break;
+                        case "addressbook":
+                            party(patent, path, group, inventors);
+                            break;
+                        case "primary-examiner":
+                            patent.setExaminer(person(group));
+                            break;
+                        case "number-of-claims":
+                            patent.setClaimCount(AssetFields.integer(value));
+                            break;
+                        case "number-of-drawing-sheets":
+                            patent.setDrawingCount(AssetFields.integer(value));
+                            break;
+                        case "claim":
+                            claims.append(normalize(claim)).append('\n');
+                            break;
+                        default:
+                            group.put(name, value);
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    path.pop();
+                }
+            }
+            if (patent == null || patent.getAssetNumber() == null) {
+                return null;
+            }
+
+            patent.setTitle(normalize(title));
+            patent.setAbstractText(normalize(abstractText));
+            patent.setDescription(patent.getAbstractText());
+            patent.setClaims(claims.length() == 0 ? null : claims.toString().trim());
+            patent.setInventors(AssetFields.join(inventors));
+            patent.setIpcClasses(AssetFields.join(ipc));
+            patent.setCpcClasses(AssetFields.join(cpc));
+            patent.setCitedPatents(AssetFields.join(cited));
+            patent.setCitationCount(cited.size());
+            return patent;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void documentId(Patent patent, String parent, Map<String, String> group, Set<String> cited) {
+        String country = group.get("country");
+        String docNumber = group.get("doc-number");
+        if ("publication-reference".equals(parent)) {
+            patent.setAssetNumber(AssetFields.assetNumber(country, docNumber, group.get("kind")));
+            patent.setPublicationNumber(docNumber);
+            patent.setGrantNumber(docNumber);
+            patent.setPublicationDate(AssetFields.date(group.get("date")));
+            patent.setGrantDate(patent.getPublicationDate());
+        } else if ("application-reference".equals(parent)) {
+            patent.setApplicationNumber(docNumber);
+            patent.setFilingDate(AssetFields.date(group.get("date")));
+        } else if ("patcit".equals(parent) && docNumber != null) {
+            cited.add(AssetFields.assetNumber(country, docNumber, group.get("kind")));
+        }
+    }
+
+    // e.g. G06F 16/00
+    private void addClass(Set<String> classes, Map<String, String> group) {
+        if (group.get("section") != null && group.get("main-group") != null) {
+            classes.add(group.get("section") + group.getOrDefault("class", "") + group.getOrDefault("subclass", "")
+                    + " " + group.get("main-group") + "/" + group.getOrDefault("subgroup", "00"));
+        }
+    }
+
+    private void party(Patent patent, Deque<String> path, Map<String, String> group, Set<String> inventors) {
+        if (path.contains("inventor")) {
+            String name = person(group);
+            if (name != null) {
+                inventors.add(name);
+            }
+        } else if (path.contains("assignee") && patent.getAssignee() == null) {
+            patent.setAssignee(group.get("orgname") != null ? group.get("orgname") : person(group));
+            patent.setAssigneeCountry(group.get("country"));
+        }
+    }
+
+    private String person(Map<String, String> group) {
+        String name = (group.getOrDefault("first-name", "") + " " + group.getOrDefault("last-name", "")).trim();
+        return name.isEmpty() ? null : name;
+    }
+
+    private String replaceEntities(String line) {
+        return NAMED_ENTITY.matcher(line)
+                .replaceAll(entity -> Matcher.quoteReplacement(ENTITIES.getOrDefault(entity.group(1), " ")));
+    }
+
+    private String normalize(CharSequence value) {
+        String normalized = value.toString().replaceAll("\\s+", " ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
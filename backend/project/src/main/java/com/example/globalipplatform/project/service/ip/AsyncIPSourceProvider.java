@@ -0,0 +1,15 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking view of a provider: one call per batch of queries, answered later.
+// The future completes with an entry per query, or exceptionally; cancelling it abandons the request.
+public interface AsyncIPSourceProvider {
+    String getSourceName();
+
+    CompletableFuture<Map<String, List<IPDataDTO>>> searchAsync(List<String> queries);
+}
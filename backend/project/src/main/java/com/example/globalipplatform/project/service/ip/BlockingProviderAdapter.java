@@ -0,0 +1,52 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+// Runs a blocking provider's batch as a single task on the given executor (its bulkhead), so a batch of N
+// queries holds one thread for one request instead of N. Cancelling the future interrupts the task.
+public class BlockingProviderAdapter implements AsyncIPSourceProvider {
+
+    private final IPSourceProvider provider;
+    private final ExecutorService executor;
+
+    public BlockingProviderAdapter(IPSourceProvider provider, ExecutorService executor) {
+        this.provider = provider;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getSourceName() {
+        return provider.getSourceName();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<IPDataDTO>>> searchAsync(List<String> queries) {
+        CompletableFuture<Map<String, List<IPDataDTO>>> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(provider.searchBatch(queries));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((answer, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.config.FederatedSearchProperties;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Result cache in front of one provider, keyed by the normalized query (one instance per source). The provider
+// is asked with the query as the first caller wrote it; later callers that normalize alike share the answer.
+// - Stale-while-revalidate: after "fresh" an entry is still served while one background call refreshes it,
+//   until "max-age" when it is dropped. Refreshes run on a small bounded pool per provider, under the same
+//   deadline as foreground calls; refreshes that find the pool full are skipped and counted in rejectedRefreshes.
+// - Concurrent identical misses share one in-flight call.
+// - Empty results are kept only for "negative" and are not refreshed.
+public class CachingIPSourceProvider implements IPSourceProvider {
+
+    private final IPSourceProvider delegate;
+    private final AsyncLoadingCache<QueryKey, List<IPDataDTO>> cache;
+    private final ThreadPoolExecutor refresher;
+    private final long timeoutNanos;
+    private final Counter rejectedRefreshes;
+
+    public CachingIPSourceProvider(IPSourceProvider delegate, FederatedSearchProperties.ResultCache settings,
+                                   Duration timeout, Counter rejectedRefreshes) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+        this.rejectedRefreshes = rejectedRefreshes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refresher = new ThreadPoolExecutor(settings.getRefreshThreads(), settings.getRefreshThreads(),
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(settings.getRefreshQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task,
+                            "ip-" + delegate.getSourceName().toLowerCase() + "-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        refresher.allowCoreThreadTimeOut(true);
+
+        long maxAge = settings.getMaxAge().toNanos();
+        long negative = settings.getNegative().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .refreshAfterWrite(settings.getFresh())
+                .expireAfter(new Expiry<QueryKey, List<IPDataDTO>>() {
+                    @Override
+                    public long expireAfterCreate(QueryKey key, List<IPDataDTO> value, long currentTime) {
+                        return value.isEmpty() ? negative : maxAge;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(QueryKey key, List<IPDataDTO> value, long currentTime,
+                                                  long currentDuration) {
+                        // An empty answer never outlives "negative", even when it replaces a cached one
+                        return value.isEmpty() ? Math.min(currentDuration, negative) : maxAge;
+                    }
+
+                    @Override
+                    public long expireAfterRead(QueryKey key, List<IPDataDTO> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Only used for background refreshes; misses are loaded by the caller below
+                .buildAsync(new CacheLoader<QueryKey, List<IPDataDTO>>() {
+                    @Override
+                    public List<IPDataDTO> load(QueryKey key) {
+                        return List.copyOf(delegate.search(key.query));
+                    }
+
+                    // Empty answers are not asked again; they are kept as they are until "negative" expires them
+                    @Override
+                    public CompletableFuture<? extends List<IPDataDTO>> asyncReload(
+                            QueryKey key, List<IPDataDTO> oldValue, Executor executor) {
+                        return oldValue.isEmpty() ? CompletableFuture.completedFuture(oldValue) : refresh(key);
+                    }
+                });
+    }
+
+    // A refresh that fails, is skipped or runs past the deadline keeps the stale entry; the next read after
+    // "fresh" tries again. Caffeine does not log cancelled or timed-out refreshes.
+    private CompletableFuture<List<IPDataDTO>> refresh(QueryKey key) {
+        CompletableFuture<List<IPDataDTO>> reload = new CompletableFuture<>();
+        Future<?> call;
+        try {
+            call = refresher.submit(() -> {
+                try {
+                    reload.complete(List.copyOf(delegate.search(key.query)));
+                } catch (Throwable e) {
+                    reload.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedRefreshes.increment();
+            reload.completeExceptionally(new CancellationException(getSourceName() + " refresh pool is full"));
+            return reload;
+        }
+        // The call is interrupted at the deadline so it does not hold a refresh thread any longer
+        reload.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).whenComplete((found, error) -> {
+            if (error instanceof TimeoutException) {
+                call.cancel(true);
+            }
+        });
+        return reload;
+    }
+
+    @Override
+    public String getSourceName() {
+        return delegate.getSourceName();
+    }
+
+    @Override
+    public List<IPDataDTO> search(String query) {
+        QueryKey key = new QueryKey(query);
+
+        // A miss is loaded on the calling thread, i.e. inside the provider's bulkhead and under its deadline.
+        // Callers arriving meanwhile get the same future instead of calling the provider again.
+        CompletableFuture<List<IPDataDTO>> created = new CompletableFuture<>();
+        CompletableFuture<List<IPDataDTO>> result = cache.get(key, (k, executor) -> created);
+        if (result == created) {
+            try {
+                created.complete(List.copyOf(delegate.search(key.query)));
+            } catch (Throwable e) {
+                // Failed loads are not cached; an Error too must complete the future, or it would stay in
+                // the cache and hang every later caller
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        return await(result);
+    }
+
+    // Cached queries are answered from the cache; all the others go to the provider in one batch.
+    // Queries already in flight elsewhere are awaited rather than asked again.
+    @Override
+    public Map<String, List<IPDataDTO>> searchBatch(List<String> queries) {
+        Map<QueryKey, CompletableFuture<List<IPDataDTO>>> byKey = new LinkedHashMap<>();
+        Map<String, CompletableFuture<List<IPDataDTO>>> created = new LinkedHashMap<>();
+        for (String query : queries) {
+            QueryKey key = new QueryKey(query);
+            if (byKey.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<List<IPDataDTO>> cached = cache.getIfPresent(key);
+            if (cached == null) {
+                CompletableFuture<List<IPDataDTO>> mine = new CompletableFuture<>();
+                cached = cache.asMap().putIfAbsent(key, mine);
+                if (cached == null) {
+                    cached = mine;
+                    created.put(key.query, mine);
+                }
+            }
+            byKey.put(key, cached);
+        }
+
+        if (!created.isEmpty()) {
+            try {
+                Map<String, List<IPDataDTO>> loaded = delegate.searchBatch(new ArrayList<>(created.keySet()));
+                created.forEach((query, future) -> future.complete(List.copyOf(loaded.getOrDefault(query, List.of()))));
+            } catch (Throwable e) {
+                created.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            }
+        }
+
+        Map<String, List<IPDataDTO>> results = new LinkedHashMap<>();
+        for (String query : queries) {
+            results.put(query, await(byKey.get(new QueryKey(query))));
+        }
+        return results;
+    }
+
+    private List<IPDataDTO> await(CompletableFuture<List<IPDataDTO>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(getSourceName() + " search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(getSourceName() + " search failed", e.getCause());
+        }
+    }
+
+    // Providers match case-insensitively, so case and spacing do not change the answer. Equality is by the
+    // normalized form only; the cache keeps the first caller's key, whose query refreshes reuse.
+    private static final class QueryKey {
+        private final String query;
+        private final String normalized;
+
+        QueryKey(String query) {
+            this.query = query == null ? "" : query;
+            this.normalized = this.query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof QueryKey && normalized.equals(((QueryKey) other).normalized);
+        }
+
+        @Override
+        public int hashCode() {
+            return normalized.hashCode();
+        }
+    }
+}
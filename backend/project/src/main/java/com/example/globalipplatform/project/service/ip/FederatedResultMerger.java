@@ -0,0 +1,151 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Merges the answers of several providers: collapses filings of the same application or family into one result,
+// scores them against the query and keeps only the best k.
+public final class FederatedResultMerger {
+
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    // Being returned by several offices is a mild signal that a result is the one being looked for
+    private static final double PER_EXTRA_SOURCE = 0.25;
+
+    private static final Comparator<IPDataDTO> RANKING = Comparator
+            .comparing(IPDataDTO::getScore)
+            .thenComparing(IPDataDTO::getApplicationDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+            .thenComparing(IPDataDTO::getId, Comparator.nullsFirst(Comparator.<String>reverseOrder()));
+
+    private FederatedResultMerger() {
+    }
+
+    public static Merged merge(List<IPDataDTO> found, String query, int limit) {
+        // Hash join on both identities: a result joins an earlier one sharing its family or its application number
+        Map<String, IPDataDTO> byFamily = new HashMap<>();
+        Map<String, IPDataDTO> byNumber = new HashMap<>();
+        List<IPDataDTO> distinct = new ArrayList<>();
+
+        for (IPDataDTO result : found) {
+            String familyKey = key(result.getType(), result.getFamilyId());
+            String numberKey = key(result.getType(), result.getApplicationNumber());
+
+            IPDataDTO kept = familyKey != null ? byFamily.get(familyKey) : null;
+            if (kept == null && numberKey != null) {
+                kept = byNumber.get(numberKey);
+            }
+            if (kept == null) {
+                // Copied because provider lists are shared through the result cache
+                kept = result.toBuilder().alsoFoundIn(new ArrayList<>()).build();
+                distinct.add(kept);
+            } else {
+                absorb(kept, result);
+            }
+            if (familyKey != null) {
+                byFamily.putIfAbsent(familyKey, kept);
+            }
+            if (numberKey != null) {
+                byNumber.putIfAbsent(numberKey, kept);
+            }
+        }
+
+        // Top-k with a min-heap of size k instead of sorting every result
+        String[] terms = terms(query);
+        PriorityQueue<IPDataDTO> best = new PriorityQueue<>(Math.max(limit, 1), RANKING);
+        for (IPDataDTO result : distinct) {
+            result.setScore(score(result, terms));
+            best.add(result);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<IPDataDTO> top = new ArrayList<>(best);
+        top.sort(RANKING.reversed());
+        return new Merged(top, distinct.size());
+    }
+
+    // Upper-case letters and digits only, so "PCT/EP2023/012345" and "pct ep 2023 012345" meet.
+    // The type is part of the key because patent and trademark numbers can collide.
+    static String key(String type, String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+        String normalized = identifier.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return (type == null ? "" : type.toUpperCase(Locale.ROOT)) + ":" + normalized;
+    }
+
+    // The first result seen stays; later duplicates fill its gaps and are listed as extra sources
+    private static void absorb(IPDataDTO kept, IPDataDTO duplicate) {
+        if (duplicate.getSource() != null && !duplicate.getSource().equals(kept.getSource())
+                && !kept.getAlsoFoundIn().contains(duplicate.getSource())) {
+            kept.getAlsoFoundIn().add(duplicate.getSource());
+        }
+        if (kept.getFamilyId() == null) {
+            kept.setFamilyId(duplicate.getFamilyId());
+        }
+        if (kept.getDescription() == null) {
+            kept.setDescription(duplicate.getDescription());
+        }
+        if (kept.getApplicant() == null) {
+            kept.setApplicant(duplicate.getApplicant());
+        }
+        // Earliest filing of the family
+        if (duplicate.getApplicationDate() != null && (kept.getApplicationDate() == null
+                || duplicate.getApplicationDate().isBefore(kept.getApplicationDate()))) {
+            kept.setApplicationDate(duplicate.getApplicationDate());
+        }
+    }
+
+    // Share of query terms found, title counting double, plus a bonus per additional source
+    private static double score(IPDataDTO result, String[] terms) {
+        double score = 0;
+        if (terms.length > 0) {
+            String title = lower(result.getTitle());
+            String description = lower(result.getDescription());
+            for (String term : terms) {
+                if (title.contains(term)) {
+                    score += TITLE_WEIGHT;
+                }
+                if (description.contains(term)) {
+                    score += DESCRIPTION_WEIGHT;
+                }
+            }
+            score /= terms.length * (TITLE_WEIGHT + DESCRIPTION_WEIGHT);
+        }
+        return score + PER_EXTRA_SOURCE * result.getAlsoFoundIn().size();
+    }
+
+    private static String[] terms(String query) {
+        if (query == null || query.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Merged {
+        private final List<IPDataDTO> top; // best results first
+        private final int distinctCount; // results left after deduplication, before the cut to top-k
+    }
+}
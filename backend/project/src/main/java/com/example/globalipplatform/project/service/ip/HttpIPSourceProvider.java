@@ -0,0 +1,92 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Calls one office over HTTP with the API of MockOfficeServer; a batch is one POST.
+// The client keeps connections alive, so repeated calls reuse them. Interrupting the calling thread
+// (the federation deadline) aborts the request.
+public class HttpIPSourceProvider implements IPSourceProvider {
+
+    private static final TypeReference<List<IPDataDTO>> RESULTS = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, List<IPDataDTO>>> BATCH_RESULTS = new TypeReference<>() {
+    };
+
+    private final String source;
+    private final String officeUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+
+    public HttpIPSourceProvider(String source, String baseUrl, Duration connectTimeout, ObjectMapper objectMapper) {
+        this.source = source;
+        this.officeUrl = baseUrl.replaceAll("/+$", "") + "/" + source.toLowerCase(Locale.ROOT);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String getSourceName() {
+        return source;
+    }
+
+    @Override
+    public List<IPDataDTO> search(String query) {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(officeUrl + "/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+        return send(request, RESULTS);
+    }
+
+    @Override
+    public Map<String, List<IPDataDTO>> searchBatch(List<String> queries) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(officeUrl + "/search/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(queries)))
+                    .build();
+            return send(request, BATCH_RESULTS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T send(HttpRequest request, TypeReference<T> type) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 429) {
+                // Counted as a failure by the circuit breaker, which also slows our own rate limiter down
+                throw new ProviderUnavailableException(SourceStatusDTO.Status.RATE_LIMITED,
+                        source + " is throttling requests");
+            }
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(source + " answered HTTP " + response.statusCode());
+            }
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(source + " request failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(source + " request interrupted", e);
+        }
+    }
+}
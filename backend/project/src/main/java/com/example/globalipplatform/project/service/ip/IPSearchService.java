@@ -1,40 +1,284 @@
 package com.example.globalipplatform.project.service.ip;
 
+import com.example.globalipplatform.project.DTO.BatchSearchResponse;
+import com.example.globalipplatform.project.DTO.FederatedSearchResponse;
 import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.DTO.QueryResultDTO;
+import com.example.globalipplatform.project.DTO.SourceResultDTO;
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+import com.example.globalipplatform.project.config.FederatedSearchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class IPSearchService {
 
-    private final List<IPSourceProvider> providers;
+    private final List<AsyncIPSourceProvider> providers;
+    private final FederatedSearchProperties properties;
+    private final ProviderResilienceRegistry resilience;
+    // One bounded pool per provider, so a slow office can only exhaust its own threads
+    private final Map<String, ExecutorService> executors = new LinkedHashMap<>();
+    // Fires provider deadlines; cancelled timers are dropped from its queue right away
+    private final ScheduledThreadPoolExecutor deadlines;
 
-    public IPSearchService(List<IPSourceProvider> providers) {
-        this.providers = providers;
+    public IPSearchService(List<IPSourceProvider> providers, FederatedSearchProperties properties,
+                           ProviderResilienceRegistry resilience) {
+        this.properties = properties;
+        this.resilience = resilience;
+        List<AsyncIPSourceProvider> adapted = new ArrayList<>();
+        for (IPSourceProvider provider : providers) {
+            ExecutorService bulkhead = newBulkhead(provider.getSourceName());
+            executors.put(provider.getSourceName(), bulkhead);
+            adapted.add(new BlockingProviderAdapter(decorate(provider), bulkhead));
+        }
+        this.providers = adapted;
+        deadlines = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "ip-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlines.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+        deadlines.shutdownNow();
+    }
+
+    // Waits for every selected provider, at most until the latest deadline, and returns the best of what
+    // arrived in time, with duplicates across offices merged
+    public FederatedSearchResponse search(String query, String source, Integer limit) {
+        List<SourceAnswer> answers = await(start(List.of(query), source));
+
+        List<IPDataDTO> results = new ArrayList<>();
+        for (SourceAnswer answer : answers) {
+            results.addAll(answer.resultsFor(query));
+        }
+        List<SourceStatusDTO> statuses = statuses(answers);
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(results, query,
+                properties.limitFor(limit));
+        return FederatedSearchResponse.builder()
+                .results(merged.getTop())
+                .totalResults(merged.getDistinctCount())
+                .sources(statuses)
+                .partial(isPartial(statuses))
+                .build();
+    }
+
+    // Same as search for several queries at once, but each office gets the whole batch in one call,
+    // e.g. for refreshing a watch list
+    public BatchSearchResponse searchBatch(List<String> queries, String source, Integer limit) {
+        if (queries == null) {
+            queries = List.of();
+        }
+        List<String> distinct = queries.stream()
+                .filter(query -> query != null && !query.isBlank())
+                .map(String::trim)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinct.size() > properties.getMaxBatchQueries()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxBatchQueries() + " queries per batch");
+        }
+        List<SourceAnswer> answers = distinct.isEmpty() ? List.of() : await(start(distinct, source));
+
+        int max = properties.limitFor(limit);
+        List<QueryResultDTO> results = new ArrayList<>();
+        for (String query : distinct) {
+            List<IPDataDTO> found = new ArrayList<>();
+            for (SourceAnswer answer : answers) {
+                found.addAll(answer.resultsFor(query));
+            }
+            FederatedResultMerger.Merged merged = FederatedResultMerger.merge(found, query, max);
+            results.add(QueryResultDTO.builder()
+                    .query(query)
+                    .results(merged.getTop())
+                    .totalResults(merged.getDistinctCount())
+                    .build());
+        }
+        List<SourceStatusDTO> statuses = statuses(answers);
+        return BatchSearchResponse.builder()
+                .results(results)
+                .sources(statuses)
+                .partial(isPartial(statuses))
+                .build();
+    }
+
+    // Hands each provider's outcome to onResult as soon as it is known (on the provider's or the deadline thread).
+    // The returned future completes once every provider has answered or timed out; its results are left null
+    // because they were already delivered one source at a time. Each source's results are ranked and cut to
+    // the limit on their own; merging across sources needs them all and is left to search.
+    public CompletableFuture<FederatedSearchResponse> stream(String query, String source, Integer limit,
+                                                             Consumer<SourceResultDTO> onResult) {
+        int max = properties.limitFor(limit);
+        List<CompletableFuture<SourceAnswer>> calls = start(List.of(query), source);
+        // The summary waits for the deliveries, not just the calls, so it is always the last thing handed out
+        CompletableFuture<?>[] delivered = calls.stream()
+                .map(call -> call.thenAccept(answer -> {
+                    try {
+                        onResult.accept(SourceResultDTO.builder()
+                                .status(answer.getStatus())
+                                .results(FederatedResultMerger.merge(answer.resultsFor(query), query, max).getTop())
+                                .build());
+                    } catch (RuntimeException e) {
+                        System.err.println("Delivering " + answer.getStatus().getSource() + " results failed: " + e);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(delivered)
+                .thenApply(ignored -> {
+                    List<SourceStatusDTO> statuses = statuses(await(calls));
+                    return FederatedSearchResponse.builder()
+                            .sources(statuses)
+                            .partial(isPartial(statuses))
+                            .build();
+                });
     }
 
-    public List<IPDataDTO> search(String query, String source) {
+    private List<CompletableFuture<SourceAnswer>> start(List<String> queries, String source) {
         // If specific source requested
+        List<AsyncIPSourceProvider> selected = providers;
         if (source != null && !source.isEmpty() && !"ALL".equalsIgnoreCase(source)) {
-            return providers.stream()
+            selected = providers.stream()
                     .filter(p -> p.getSourceName().equalsIgnoreCase(source))
-                    .findFirst()
-                    .map(p -> p.search(query))
-                    .orElse(new ArrayList<>());
+                    .collect(Collectors.toList());
         }
 
-        // Parallel search across all providers
-        List<CompletableFuture<List<IPDataDTO>>> futures = providers.stream()
-                .map(p -> CompletableFuture.supplyAsync(() -> p.search(query)))
+        long start = System.nanoTime();
+        return selected.stream()
+                .map(provider -> call(provider, queries, start))
                 .collect(Collectors.toList());
+    }
 
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
+    // Sends one batch to one provider. The future always completes, at the latest at the provider's deadline,
+    // when the request is cancelled so its thread is free for the next search.
+    private CompletableFuture<SourceAnswer> call(AsyncIPSourceProvider provider, List<String> queries, long start) {
+        CompletableFuture<SourceAnswer> outcome = new CompletableFuture<>();
+        // Counted once, for whichever of answer, failure or deadline completed the call
+        outcome.thenAccept(answer -> resilience.record(provider.getSourceName(), answer.getStatus().getStatus()));
+        Duration timeout = properties.timeoutFor(provider.getSourceName());
+
+        CompletableFuture<Map<String, List<IPDataDTO>>> request = provider.searchAsync(queries);
+        request.whenComplete((found, error) -> {
+            if (error == null) {
+                outcome.complete(answer(provider, SourceStatusDTO.Status.OK, found, start, null));
+            } else {
+                outcome.complete(failure(provider, error instanceof CompletionException ? error.getCause() : error,
+                        start));
+            }
+        });
+        if (outcome.isDone()) {
+            return outcome;
+        }
+
+        long remaining = start + timeout.toNanos() - System.nanoTime();
+        ScheduledFuture<?> timer = deadlines.schedule(() -> {
+            if (outcome.complete(answer(provider, SourceStatusDTO.Status.TIMEOUT, Map.of(), start,
+                    "No answer within " + timeout.toMillis() + " ms"))) {
+                request.cancel(true);
+            }
+        }, Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        outcome.whenComplete((answer, error) -> timer.cancel(false));
+        return outcome;
+    }
+
+    private SourceAnswer failure(AsyncIPSourceProvider provider, Throwable error, long start) {
+        if (error instanceof RejectedExecutionException) {
+            return answer(provider, SourceStatusDTO.Status.REJECTED, Map.of(), start, "Too many concurrent searches");
+        }
+        if (error instanceof ProviderUnavailableException) {
+            // Held back by its breaker or rate limiter; not an error of this search
+            return answer(provider, ((ProviderUnavailableException) error).getStatus(), Map.of(), start,
+                    error.getMessage());
+        }
+        System.err.println("Search failed at " + provider.getSourceName() + ": " + error);
+        return answer(provider, SourceStatusDTO.Status.FAILED, Map.of(), start, error.toString());
+    }
+
+    private SourceAnswer answer(AsyncIPSourceProvider provider, SourceStatusDTO.Status status,
+                                Map<String, List<IPDataDTO>> found, long start, String message) {
+        SourceStatusDTO sourceStatus = SourceStatusDTO.builder()
+                .source(provider.getSourceName())
+                .status(status)
+                .resultCount(found.values().stream().mapToInt(List::size).sum())
+                .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .message(message)
+                .build();
+        return new SourceAnswer(sourceStatus, found);
+    }
+
+    private List<SourceAnswer> await(List<CompletableFuture<SourceAnswer>> calls) {
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).join();
+        return calls.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private List<SourceStatusDTO> statuses(List<SourceAnswer> answers) {
+        return answers.stream().map(SourceAnswer::getStatus).collect(Collectors.toList());
+    }
+
+    private boolean isPartial(List<SourceStatusDTO> statuses) {
+        return statuses.stream().anyMatch(s -> s.getStatus() != SourceStatusDTO.Status.OK);
+    }
+
+    // The cache sits outside the breaker, so cached answers are still served while an office is down
+    private IPSourceProvider decorate(IPSourceProvider provider) {
+        if (properties.getResilience().isEnabled()) {
+            provider = resilience.guard(provider);
+        }
+        if (properties.getResultCache().isEnabled()) {
+            String source = provider.getSourceName();
+            provider = new CachingIPSourceProvider(provider, properties.getResultCache(),
+                    properties.timeoutFor(source), resilience.rejectedRefreshes(source));
+        }
+        return provider;
+    }
+
+    private ExecutorService newBulkhead(String source) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreadsPerProvider(), properties.getThreadsPerProvider(),
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "ip-" + source.toLowerCase() + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // One provider's outcome for a batch: its status and the results of each query
+    @Getter
+    @AllArgsConstructor
+    private static class SourceAnswer {
+        private final SourceStatusDTO status;
+        private final Map<String, List<IPDataDTO>> results;
+
+        List<IPDataDTO> resultsFor(String query) {
+            return results.getOrDefault(query, List.of());
+        }
     }
 }
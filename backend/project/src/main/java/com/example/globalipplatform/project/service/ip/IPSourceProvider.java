@@ -1,10 +1,23 @@
 package com.example.globalipplatform.project.service.ip;
 
 import com.example.globalipplatform.project.DTO.IPDataDTO;
+
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface IPSourceProvider {
     String getSourceName();
 
     List<IPDataDTO> search(String query);
+
+    // Results of several queries, keyed by query. Offices with a multi-query API override this to answer
+    // the whole batch in one request; by default the queries are asked one after another.
+    default Map<String, List<IPDataDTO>> searchBatch(List<String> queries) {
+        Map<String, List<IPDataDTO>> results = new LinkedHashMap<>();
+        for (String query : queries) {
+            results.put(query, search(query));
+        }
+        return results;
+    }
 }
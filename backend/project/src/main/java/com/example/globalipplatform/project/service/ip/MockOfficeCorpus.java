@@ -0,0 +1,99 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Generated records of one stand-in office. The same source, size and seed give the same records.
+// The first third of the patent filings at USPTO, EPO and WIPO belong to shared families, so federated
+// deduplication has cross-office duplicates to collapse.
+public final class MockOfficeCorpus {
+
+    private static final String[] QUALIFIERS = {
+            "Adaptive", "Distributed", "Quantum", "Low-Power", "High-Efficiency", "Autonomous", "Modular",
+            "Biodegradable", "Wearable", "Secure", "Scalable", "Flexible", "Hybrid", "Compact", "Intelligent"};
+    private static final String[] SUBJECTS = {
+            "Battery", "Neural Network", "Graphene Membrane", "Solar Cell", "Drone", "Gene Editing Tool",
+            "Semiconductor", "Robot Arm", "Wireless Charger", "Blockchain Ledger", "Sensor Array", "Catalyst",
+            "Vaccine Carrier", "Display Panel", "Hydrogen Fuel Cell", "Language Model", "Heat Pump", "Lidar"};
+    private static final String[] FORMS = {"System", "Method", "Apparatus", "Device", "Process", "Composition"};
+    private static final String[] APPLICANTS = {
+            "Siemens AG", "Samsung Electronics", "IBM", "Huawei Technologies", "Bosch GmbH", "LG Chem",
+            "Toyota Motor", "Qualcomm", "Philips", "BASF SE", "Sony Group", "Tesla Inc", "Nokia", "Canon Inc"};
+    private static final String[] MARK_WORDS = {
+            "NOVA", "ZENITH", "AURORA", "VERTEX", "PULSE", "ORBIT", "LUMEN", "SOLARIS", "NIMBUS", "QUANTA"};
+    private static final String[] PATENT_STATUSES = {"FILED", "PUBLISHED", "EXAMINATION", "GRANTED", "EXPIRED"};
+    private static final String[] MARK_STATUSES = {"FILED", "PUBLISHED", "REGISTERED", "OPPOSED", "EXPIRED"};
+
+    private MockOfficeCorpus() {
+    }
+
+    public static List<IPDataDTO> generate(String source, int size, long seed) {
+        Random random = new Random(seed * 31 + source.hashCode());
+        boolean trademarks = "TMView".equalsIgnoreCase(source);
+        boolean mixed = "USPTO".equalsIgnoreCase(source);
+        LocalDate today = LocalDate.now();
+
+        List<IPDataDTO> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // USPTO handles both; one filing in five there is a trademark
+            boolean trademark = trademarks || (mixed && i % 5 == 4);
+            LocalDate filed = today.minusDays(random.nextInt(20 * 365));
+            IPDataDTO.IPDataDTOBuilder record = IPDataDTO.builder()
+                    .id(source + "-" + i)
+                    .applicant(APPLICANTS[random.nextInt(APPLICANTS.length)])
+                    .applicationDate(filed)
+                    .source(source);
+            if (trademark) {
+                String mark = MARK_WORDS[random.nextInt(MARK_WORDS.length)] + " "
+                        + SUBJECTS[random.nextInt(SUBJECTS.length)].toUpperCase(Locale.ROOT);
+                record.title(mark)
+                        .description("Goods and services in class " + (1 + random.nextInt(45)) + " sold under "
+                                + mark)
+                        .applicationNumber(trademarkNumber(source, i, filed))
+                        .status(MARK_STATUSES[random.nextInt(MARK_STATUSES.length)])
+                        .type("TRADEMARK");
+            } else {
+                // Shared families draw their title from the family, so every office files the same invention
+                Random invention = i < size / 3 ? new Random(seed * 7919 + i) : random;
+                String subject = SUBJECTS[invention.nextInt(SUBJECTS.length)];
+                String title = QUALIFIERS[invention.nextInt(QUALIFIERS.length)] + " " + subject + " "
+                        + FORMS[invention.nextInt(FORMS.length)];
+                record.title(title)
+                        .description("A " + subject.toLowerCase(Locale.ROOT) + " with improved "
+                                + QUALIFIERS[invention.nextInt(QUALIFIERS.length)].toLowerCase(Locale.ROOT)
+                                + " operation, reducing cost and energy use.")
+                        .applicationNumber(patentNumber(source, i, filed))
+                        .familyId(i < size / 3 ? String.valueOf(80_000_000 + i) : null)
+                        .status(PATENT_STATUSES[random.nextInt(PATENT_STATUSES.length)])
+                        .type("PATENT");
+            }
+            records.add(record.detailUrl("https://office.example/" + source.toLowerCase(Locale.ROOT) + "/" + i)
+                    .build());
+        }
+        return records;
+    }
+
+    // Number formats follow each office's, so normalization in the merge stage is exercised
+    private static String patentNumber(String source, int i, LocalDate filed) {
+        switch (source.toUpperCase(Locale.ROOT)) {
+            case "EPO":
+                return String.format("EP%d%06d", filed.getYear(), i);
+            case "WIPO":
+                return String.format("PCT/EP%d/%06d", filed.getYear(), i);
+            default:
+                return String.format("%02d/%03d,%03d", 16 + i % 4, (i / 1000) % 1000, i % 1000);
+        }
+    }
+
+    private static String trademarkNumber(String source, int i, LocalDate filed) {
+        if ("TMView".equalsIgnoreCase(source)) {
+            return String.format("EU-%09d", 18_000_000 + i);
+        }
+        return String.format("97/%03d,%03d", (i / 1000) % 1000, i % 1000);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.config.MockOfficeProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Stand-in patent office server on the JDK's HttpServer, for running the federation against something that
+// behaves like a remote office: every office answers after a log-normal delay, fails at its error rate and
+// throttles above its request rate. Endpoints per office, e.g. for EPO:
+//   GET  /epo/search?q=battery          -> JSON array of records
+//   POST /epo/search/batch ["a", "b"]   -> JSON object of query -> records, one delay for the whole batch
+// Can be started inside the application (ip.mock-office.enabled) or on its own from a benchmark.
+public class MockOfficeServer {
+
+    public static final List<String> OFFICES = List.of("USPTO", "EPO", "WIPO", "TMView");
+
+    // Pending connections; a burst of clients opening connections at once waits here instead of being dropped
+    private static final int BACKLOG = 1024;
+
+    private final MockOfficeProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, List<IPDataDTO>> corpora = new LinkedHashMap<>();
+    private final Map<String, TokenBucket> throttles = new LinkedHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MockOfficeServer(MockOfficeProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    public void start() throws IOException {
+        // Without TCP_NODELAY every response waits ~40 ms on the client's delayed ACK, which would swamp the
+        // configured latency. The JDK server reads this once, so it must be set before the first server starts.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress("localhost", properties.getPort()), BACKLOG);
+        for (String office : OFFICES) {
+            corpora.put(office, MockOfficeCorpus.generate(office, properties.getCorpusSize(), properties.getSeed()));
+            MockOfficeProperties.Behaviour behaviour = properties.behaviourFor(office);
+            if (behaviour.getRatePerSecond() > 0) {
+                // One second's worth of burst
+                throttles.put(office, new TokenBucket(behaviour.getRatePerSecond(), behaviour.getRatePerSecond(),
+                        Math.max(1, behaviour.getRatePerSecond())));
+            }
+            server.createContext("/" + office.toLowerCase(Locale.ROOT) + "/search", exchange -> handle(office, exchange));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getThreads(), task -> {
+            Thread thread = new Thread(task, "mock-office-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("Mock office server listening on " + getBaseUrl() + " with "
+                + properties.getCorpusSize() + " records per office");
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void handle(String office, HttpExchange exchange) throws IOException {
+        try {
+            MockOfficeProperties.Behaviour behaviour = properties.behaviourFor(office);
+            TokenBucket throttle = throttles.get(office);
+            if (throttle != null && !throttle.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+
+            delay(behaviour);
+            if (ThreadLocalRandom.current().nextDouble() < behaviour.getErrorRate()) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            Object body;
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/search/batch") && "POST".equals(exchange.getRequestMethod())) {
+                List<String> queries = objectMapper.readValue(exchange.getRequestBody(),
+                        new TypeReference<List<String>>() {
+                        });
+                Map<String, List<IPDataDTO>> results = new LinkedHashMap<>();
+                for (String query : queries) {
+                    results.put(query, search(office, query));
+                }
+                body = results;
+            } else if (path.endsWith("/search") && "GET".equals(exchange.getRequestMethod())) {
+                body = search(office, queryParam(exchange, "q"));
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Same matching as the in-memory providers: the whole query in the title or description
+    private List<IPDataDTO> search(String office, String query) {
+        String needle = query == null ? "" : query.toLowerCase(Locale.ROOT).trim();
+        return corpora.get(office).stream()
+                .filter(record -> record.getTitle().toLowerCase(Locale.ROOT).contains(needle)
+                        || record.getDescription().toLowerCase(Locale.ROOT).contains(needle))
+                .limit(properties.getMaxResults())
+                .collect(Collectors.toList());
+    }
+
+    private void delay(MockOfficeProperties.Behaviour behaviour) throws InterruptedException {
+        double factor = Math.exp(behaviour.getLatencySigma() * ThreadLocalRandom.current().nextGaussian());
+        long nanos = (long) (behaviour.getLatencyMedian().toNanos() * factor);
+        TimeUnit.NANOSECONDS.sleep(Math.min(nanos, TimeUnit.SECONDS.toNanos(30)));
+    }
+
+    private String queryParam(HttpExchange exchange, String name) {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.globalipplatform.project.service.ip;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// /actuator/health component "provider"; each office's breaker state and current rate limit are in the details.
+// Outside offices being unreachable does not make this application unhealthy, so when every breaker is open the
+// component reports UNKNOWN, which the overall status ranks below UP. /actuator/health/providers answers 503 then.
+@Component("provider")
+public class ProviderHealthIndicator extends AbstractHealthIndicator {
+
+    private final ProviderResilienceRegistry registry;
+
+    public ProviderHealthIndicator(ProviderResilienceRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        Collection<ResilientIPSourceProvider> guarded = registry.getGuarded();
+        long open = 0;
+        for (ResilientIPSourceProvider provider : guarded) {
+            CircuitBreaker.State state = provider.getCircuitBreaker().getState();
+            if (state == CircuitBreaker.State.OPEN) {
+                open++;
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("circuit", state);
+            details.put("failureRate", provider.getCircuitBreaker().failureRate());
+            details.put("ratePerSecond", provider.getRateLimiter().getRate());
+            builder.withDetail(provider.getSourceName(), details);
+        }
+        if (!guarded.isEmpty() && open == guarded.size()) {
+            builder.unknown().withDetail("reason", "every office's circuit breaker is open");
+        } else {
+            builder.up();
+        }
+    }
+}
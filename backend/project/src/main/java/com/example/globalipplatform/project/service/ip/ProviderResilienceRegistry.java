@@ -0,0 +1,67 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+import com.example.globalipplatform.project.config.FederatedSearchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Creates the circuit breaker and rate limiter of every provider and publishes their state as gauges:
+// ip.provider.circuit.state (0 closed, 1 half-open, 2 open), ip.provider.circuit.failure.rate and
+// ip.provider.rate.limit (current calls per second), tagged with the source. ip.provider.calls counts
+// federated calls by source and outcome status; ip.provider.cache.refresh.rejected counts result cache
+// refreshes skipped because the source's refresh pool was full.
+@Component
+public class ProviderResilienceRegistry {
+
+    private final FederatedSearchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ResilientIPSourceProvider> guarded = new ConcurrentHashMap<>();
+
+    public ProviderResilienceRegistry(FederatedSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResilientIPSourceProvider guard(IPSourceProvider provider) {
+        FederatedSearchProperties.Resilience settings = properties.getResilience();
+        String source = provider.getSourceName();
+        ResilientIPSourceProvider resilient = new ResilientIPSourceProvider(provider,
+                new CircuitBreaker(settings.getWindowSize(), settings.getMinimumCalls(),
+                        settings.getFailureRateThreshold(), settings.getOpenDuration(), settings.getHalfOpenProbes()),
+                new TokenBucket(settings.getRatePerSecond(), settings.getMinRatePerSecond(), settings.getBurst()),
+                properties.timeoutFor(source));
+        guarded.put(source, resilient);
+
+        Gauge.builder("ip.provider.circuit.state", resilient, p -> p.getCircuitBreaker().getState().ordinal())
+                .tag("source", source)
+                .register(meterRegistry);
+        Gauge.builder("ip.provider.circuit.failure.rate", resilient, p -> p.getCircuitBreaker().failureRate())
+                .tag("source", source)
+                .baseUnit("percent")
+                .register(meterRegistry);
+        Gauge.builder("ip.provider.rate.limit", resilient, p -> p.getRateLimiter().getRate())
+                .tag("source", source)
+                .baseUnit("calls/s")
+                .register(meterRegistry);
+        return resilient;
+    }
+
+    public void record(String source, SourceStatusDTO.Status status) {
+        meterRegistry.counter("ip.provider.calls", "source", source, "status", status.name()).increment();
+    }
+
+    public Counter rejectedRefreshes(String source) {
+        return meterRegistry.counter("ip.provider.cache.refresh.rejected", "source", source);
+    }
+
+    public Collection<ResilientIPSourceProvider> getGuarded() {
+        return Collections.unmodifiableCollection(guarded.values());
+    }
+}
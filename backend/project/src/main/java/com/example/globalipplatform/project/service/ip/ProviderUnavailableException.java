@@ -0,0 +1,20 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+
+// Thrown instead of calling a provider that its circuit breaker or rate limiter holds back
+public class ProviderUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SourceStatusDTO.Status status;
+
+    public ProviderUnavailableException(SourceStatusDTO.Status status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public SourceStatusDTO.Status getStatus() {
+        return status;
+    }
+}
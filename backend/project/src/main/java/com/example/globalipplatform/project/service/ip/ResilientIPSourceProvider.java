@@ -0,0 +1,85 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Puts a circuit breaker and an adaptive rate limiter in front of one provider, so a degraded office
+// is called less and less, and not at all while its breaker is open.
+public class ResilientIPSourceProvider implements IPSourceProvider {
+
+    private final IPSourceProvider delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final TokenBucket rateLimiter;
+    // Answers slower than this count as failures even when they arrive
+    private final long slowCallNanos;
+
+    public ResilientIPSourceProvider(IPSourceProvider delegate, CircuitBreaker circuitBreaker,
+                                     TokenBucket rateLimiter, Duration slowCallThreshold) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+    }
+
+    @Override
+    public String getSourceName() {
+        return delegate.getSourceName();
+    }
+
+    @Override
+    public List<IPDataDTO> search(String query) {
+        return guarded(() -> delegate.search(query));
+    }
+
+    // A batch is one request to the office, so it takes one permit and counts as one outcome
+    @Override
+    public Map<String, List<IPDataDTO>> searchBatch(List<String> queries) {
+        return guarded(() -> delegate.searchBatch(queries));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public TokenBucket getRateLimiter() {
+        return rateLimiter;
+    }
+
+    private <T> T guarded(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new ProviderUnavailableException(SourceStatusDTO.Status.CIRCUIT_OPEN,
+                    getSourceName() + " is failing, calls are paused");
+        }
+        if (!rateLimiter.tryAcquire()) {
+            circuitBreaker.release();
+            throw new ProviderUnavailableException(SourceStatusDTO.Status.RATE_LIMITED,
+                    getSourceName() + " call rate exceeded");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T found = call.get();
+            if (System.nanoTime() - start > slowCallNanos) {
+                onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+                rateLimiter.onSuccess();
+            }
+            return found;
+        } catch (RuntimeException e) {
+            // Includes calls interrupted at their deadline
+            onFailure();
+            throw e;
+        }
+    }
+
+    private void onFailure() {
+        circuitBreaker.onFailure();
+        rateLimiter.onFailure();
+    }
+}
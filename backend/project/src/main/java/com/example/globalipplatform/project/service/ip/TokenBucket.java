@@ -0,0 +1,55 @@
+package com.example.globalipplatform.project.service.ip;
+
+// Non-blocking token bucket whose rate adapts to the provider: halved on every failure down to minRate,
+// and raised by a tenth of maxRate on every success back up to maxRate.
+public class TokenBucket {
+
+    private final double maxRate;
+    private final double minRate;
+    private final double capacity;
+    private double rate;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double maxRate, double minRate, double capacity) {
+        this.maxRate = maxRate;
+        this.minRate = Math.min(minRate, maxRate);
+        this.capacity = capacity;
+        this.rate = maxRate;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate / 10);
+    }
+
+    public synchronized void onFailure() {
+        refill();
+        rate = Math.max(minRate, rate / 2);
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * rate);
+        refilledAt = now;
+    }
+}
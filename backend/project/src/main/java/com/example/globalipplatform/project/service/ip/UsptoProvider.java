@@ -1,6 +1,7 @@
 package com.example.globalipplatform.project.service.ip;
 
 import com.example.globalipplatform.project.DTO.IPDataDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProperty(name = "ip.providers.mode", havingValue = "in-memory", matchIfMissing = true)
 public class UsptoProvider implements IPSourceProvider {
 
     @Override
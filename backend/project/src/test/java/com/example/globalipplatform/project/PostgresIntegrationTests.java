@@ -0,0 +1,50 @@
+package com.example.globalipplatform.project;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Base for tests against a real PostgreSQL (embedded, no Docker needed). One server for the whole run;
+// every Spring context gets its own database and search index, so contexts with different properties
+// do not drop each other's tables. The off-heap cache arenas are kept small since several contexts stay cached.
+@SpringBootTest(properties = {
+        "mock.data.generate.on.startup=false",
+        "spring.jpa.show-sql=false",
+        "cache.specs.patents.off-heap-bytes=4194304",
+        "cache.specs.trademarks.off-heap-bytes=4194304"
+})
+public abstract class PostgresIntegrationTests {
+
+    private static final EmbeddedPostgres POSTGRES;
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    static {
+        try {
+            POSTGRES = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        String database = "test_" + DATABASES.incrementAndGet();
+        try (Connection connection = POSTGRES.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        }
+        String indexPath = Files.createTempDirectory("search-index").toString();
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("search.index.path", () -> indexPath);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.globalipplatform.project.controller;
+
+import com.example.globalipplatform.project.DTO.FederatedSearchResponse;
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+import com.example.globalipplatform.project.service.ip.IPSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /search keeps answering with a plain array of results; the per-source detail is at /search/federated
+class IPSearchControllerTests {
+
+    private final IPSearchService ipSearchService = mock(IPSearchService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new IPSearchController(ipSearchService)).build();
+        FederatedSearchResponse response = FederatedSearchResponse.builder()
+                .results(List.of(IPDataDTO.builder().id("US-1").source("USPTO").title("Solar cell").build()))
+                .totalResults(1)
+                .sources(List.of(
+                        SourceStatusDTO.builder().source("USPTO").status(SourceStatusDTO.Status.OK).build(),
+                        SourceStatusDTO.builder().source("EPO").status(SourceStatusDTO.Status.TIMEOUT).build()))
+                .partial(true)
+                .build();
+        when(ipSearchService.search(eq("solar"), eq("ALL"), any())).thenReturn(response);
+    }
+
+    @Test
+    void searchReturnsTheResultList() throws Exception {
+        mockMvc.perform(get("/api/ip/search").param("query", "solar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].id").value("US-1"));
+    }
+
+    @Test
+    void federatedSearchReturnsSourcesAndPartial() throws Exception {
+        mockMvc.perform(get("/api/ip/search/federated").param("query", "solar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value("US-1"))
+                .andExpect(jsonPath("$.sources[1].status").value("TIMEOUT"))
+                .andExpect(jsonPath("$.partial").value(true));
+    }
+
+    @Test
+    void searchFailureIsAServerError() throws Exception {
+        when(ipSearchService.search(eq("broken"), eq("ALL"), any())).thenThrow(new IllegalStateException("down"));
+
+        mockMvc.perform(get("/api/ip/search").param("query", "broken"))
+                .andExpect(status().isInternalServerError());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.globalipplatform.project.repository;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.service.SearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The database fallback must count the same facets as the search index does for the same patents
+class PatentFacetRepositoryTests extends PostgresIntegrationTests {
+
+    private static final String[] JURISDICTIONS = {"US", "EP", "JP"};
+    private static final String[] STATUSES = {"GRANTED", "PENDING"};
+    private static final String[] TECHNOLOGIES = {"AI", "Energy", "Medical", null};
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void fixture() throws Exception {
+        if (patentRepository.findByAssetNumber("FACET-0") != null) {
+            return;
+        }
+        List<Patent> patents = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Patent patent = new Patent();
+            patent.setAssetNumber("FACET-" + i);
+            patent.setTitle("Quasicrystal lattice " + i);
+            patent.setJurisdiction(JURISDICTIONS[i % JURISDICTIONS.length]);
+            patent.setStatus(STATUSES[i % STATUSES.length]);
+            patent.setTechnology(TECHNOLOGIES[i % TECHNOLOGIES.length]);
+            // Undated rows, and the last minutes of a year, which must not slip into the next one
+            if (i % 7 != 6) {
+                patent.setFilingDate(i % 5 == 0
+                        ? LocalDateTime.of(2018 + i % 4, 12, 31, 23, 45)
+                        : LocalDateTime.of(2018 + i % 4, 1 + i % 12, 1, 0, 0));
+            }
+            patents.add(patent);
+        }
+        patentRepository.saveAll(patents);
+        searchIndexService.syncFromDatabase();
+    }
+
+    @Test
+    void textSearchFacetsMatchTheIndex() throws Exception {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setQuery("quasicrystal");
+
+        PatentFacetsDTO facets = assertSameFacets(request);
+        assertEquals(40, sum(facets.getJurisdictions()));
+        assertEquals(30, sum(facets.getTechnologies()));
+    }
+
+    @Test
+    void filteredFacetsMatchTheIndex() throws Exception {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setQuery("quasicrystal");
+        request.setJurisdiction("us");
+        request.setYearFrom(2019);
+        request.setYearTo(2020);
+
+        PatentFacetsDTO facets = assertSameFacets(request);
+        assertEquals(List.of(2019, 2020), new ArrayList<>(facets.getYears().keySet()));
+    }
+
+    private PatentFacetsDTO assertSameFacets(PatentSearchRequest request) throws Exception {
+        PatentFacetsDTO fromDatabase = patentRepository.countFacets(PatentSpecifications.fromRequest(request));
+        PatentFacetsDTO fromIndex = searchIndexService.facetPatents(request);
+
+        assertEquals(fromIndex.getJurisdictions(), fromDatabase.getJurisdictions());
+        assertEquals(fromIndex.getStatuses(), fromDatabase.getStatuses());
+        assertEquals(fromIndex.getTechnologies(), fromDatabase.getTechnologies());
+        assertEquals(fromIndex.getYears(), fromDatabase.getYears());
+        return fromDatabase;
+    }
+
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Runs against a real PostgreSQL so the COPY path is the one exercised.
+// Small chunks make every load span several COPY statements and several id blocks.
+@TestPropertySource(properties = "bulk.ingest.chunk-rows=7")
+class BulkIngestionServiceTests extends PostgresIntegrationTests {
+
+    @Autowired
+    private BulkIngestionService bulkIngestionService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void copyRoundTripKeepsQuotesCommasAndNewlines() {
+        Patent patent = patent("BULK-RT-1");
+        patent.setTitle("Say \"hello\", world");
+        patent.setAbstractText("first line\nsecond, with a comma\r\nthird \"quoted\" line");
+        patent.setClaims("1. A claim,\n2. Another \"claim\"");
+        patent.setAssignee("Smith, Jones & Partners");
+        patent.setDescription(null);
+        patent.setClaimCount(12);
+        patent.setIsCorePatent(true);
+        patent.setFilingDate(LocalDateTime.of(2020, 2, 29, 13, 45, 30));
+
+        assertEquals(1, bulkIngestionService.ingestPatents(List.of(patent)));
+
+        Patent stored = patentRepository.findByAssetNumber("BULK-RT-1");
+        assertNotNull(stored);
+        assertEquals(patent.getId(), stored.getId());
+        assertEquals(patent.getTitle(), stored.getTitle());
+        assertEquals(patent.getAbstractText(), stored.getAbstractText());
+        assertEquals(patent.getClaims(), stored.getClaims());
+        assertEquals(patent.getAssignee(), stored.getAssignee());
+        assertNull(stored.getDescription());
+        assertEquals(12, stored.getClaimCount());
+        assertEquals(true, stored.getIsCorePatent());
+        assertEquals(patent.getFilingDate(), stored.getFilingDate());
+    }
+
+    // Values a hand-rolled CSV writer tends to get wrong, each through COPY and back unchanged
+    @Test
+    void csvEscapingSurvivesCopy() {
+        List<String> tricky = List.of(
+                "", "\"", "\"\"", ",", ",,", "\n", "\r", "\r\n", "\\", "\\N", "NULL", " leading and trailing ",
+                "\"starts quoted", "ends quoted\"", "a\",\"b", "tab\tseparated", "unicode: Müller, 東京, é",
+                "line\n\"quoted\",\nend");
+        List<Patent> patents = new ArrayList<>();
+        for (int i = 0; i < tricky.size(); i++) {
+            Patent patent = patent("BULK-CSV-" + i);
+            patent.setTitle(tricky.get(i));
+            patents.add(patent);
+        }
+
+        assertEquals(tricky.size(), bulkIngestionService.ingestPatents(patents));
+
+        Map<String, String> titles = jdbcTemplate.query(
+                "SELECT asset_number, title FROM patents WHERE asset_number LIKE 'BULK-CSV-%'",
+                rs -> {
+                    Map<String, String> found = new HashMap<>();
+                    while (rs.next()) {
+                        found.put(rs.getString(1), rs.getString(2));
+                    }
+                    return found;
+                });
+        assertEquals(tricky.size(), titles.size());
+        for (int i = 0; i < tricky.size(); i++) {
+            // An empty string stays empty; only a missing value becomes NULL
+            assertEquals(tricky.get(i), titles.get("BULK-CSV-" + i), "title #" + i);
+        }
+    }
+
+    // Bulk ids come from the same pooled sequence as Hibernate's, so interleaved JPA saves and bulk
+    // loads must never hand out the same id twice
+    @Test
+    void bulkIdsDoNotOverlapJpaSaves() {
+        List<Long> jpaIds = new ArrayList<>();
+        List<Long> bulkIds = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                jpaIds.add(patentRepository.save(patent("BULK-JPA-" + round + "-" + i)).getId());
+            }
+            List<Patent> batch = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                batch.add(patent("BULK-ID-" + round + "-" + i));
+            }
+            bulkIngestionService.ingestPatents(batch);
+            batch.forEach(patent -> bulkIds.add(patent.getId()));
+        }
+
+        Set<Long> all = new HashSet<>(jpaIds);
+        all.addAll(bulkIds);
+        assertEquals(jpaIds.size() + bulkIds.size(), all.size(), "ids handed out twice");
+        assertFalse(all.contains(null));
+
+        List<Long> stored = jdbcTemplate.queryForList(
+                "SELECT id FROM patents WHERE asset_number LIKE 'BULK-JPA-%' OR asset_number LIKE 'BULK-ID-%'",
+                Long.class);
+        assertEquals(all, new HashSet<>(stored));
+
+        // Each bulk row is stored under the id it was given
+        assertEquals(bulkIds.get(0), patentRepository.findByAssetNumber("BULK-ID-0-0").getId());
+        assertEquals(bulkIds.get(bulkIds.size() - 1), patentRepository.findByAssetNumber("BULK-ID-2-59").getId());
+    }
+
+    private static Patent patent(String assetNumber) {
+        Patent patent = new Patent();
+        patent.setAssetNumber(assetNumber);
+        patent.setTitle("Title of " + assetNumber);
+        patent.setJurisdiction("US");
+        patent.setStatus("GRANTED");
+        return patent;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// A change evicts the cached asset after its transaction commits, not at flush time, and a rolled-back
+// change leaves the cache alone
+class CacheInvalidationListenerTests extends PostgresIntegrationTests {
+
+    @Autowired
+    private IPService ipService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long id;
+
+    @BeforeEach
+    void cachedPatent() {
+        Patent patent = new Patent();
+        patent.setAssetNumber("CACHE-" + System.nanoTime());
+        patent.setTitle("Before");
+        patent.setJurisdiction("US");
+        patent.setStatus("GRANTED");
+        id = patentRepository.save(patent).getId();
+
+        assertEquals("Before", ipService.getPatentById(id).getTitle());
+        assertNotNull(patents().get(id));
+    }
+
+    @Test
+    void evictsAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            rename("After");
+            // Flushed, so the change event has been published, but not committed yet
+            assertNotNull(patents().get(id));
+        });
+
+        assertNull(patents().get(id));
+        assertEquals("After", ipService.getPatentById(id).getTitle());
+    }
+
+    @Test
+    void keepsTheEntryWhenTheChangeRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            rename("Rolled back");
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(patents().get(id));
+        assertEquals("Before", ipService.getPatentById(id).getTitle());
+    }
+
+    private void rename(String title) {
+        Patent patent = patentRepository.findById(id).orElseThrow();
+        patent.setTitle(title);
+        patentRepository.saveAndFlush(patent);
+    }
+
+    private Cache patents() {
+        return cacheManager.getCache("patents");
+    }
+}
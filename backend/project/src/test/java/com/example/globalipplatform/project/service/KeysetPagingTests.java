@@ -0,0 +1,160 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentDTO;
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.DTO.PatentSearchResponse;
+import com.example.globalipplatform.project.DTO.TrademarkDTO;
+import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
+import com.example.globalipplatform.project.DTO.TrademarkSearchResponse;
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.repository.TrademarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Following nextCursor to the last page must return every matching row exactly once, in the order a
+// single ORDER BY gives, including across ties on the sort value and across the NULL block
+class KeysetPagingTests extends PostgresIntegrationTests {
+
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private IPService ipService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private TrademarkRepository trademarkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void fixture() {
+        if (patentRepository.findByAssetNumber("KS-P-0") != null) {
+            return;
+        }
+        // Three filing dates shared by many rows, some rows without one, and a few rows outside the filter
+        List<Patent> patents = new ArrayList<>();
+        List<Trademark> trademarks = new ArrayList<>();
+        for (int i = 0; i < 27; i++) {
+            String jurisdiction = i % 9 == 8 ? "EP" : "KS";
+            LocalDateTime filed = i % 4 == 3 ? null : LocalDateTime.of(2020 + i % 3, 1, 1, 0, 0);
+
+            Patent patent = new Patent();
+            patent.setAssetNumber("KS-P-" + i);
+            patent.setTitle("Patent " + i);
+            patent.setJurisdiction(jurisdiction);
+            patent.setStatus("GRANTED");
+            patent.setFilingDate(filed);
+            patent.setCitationCount(i % 2);
+            patents.add(patent);
+
+            Trademark trademark = new Trademark();
+            trademark.setAssetNumber("KS-T-" + i);
+            trademark.setTitle("Mark " + i);
+            trademark.setMark("Mark " + i);
+            trademark.setJurisdiction(jurisdiction);
+            trademark.setStatus("REGISTERED");
+            trademark.setFilingDate(filed);
+            trademarks.add(trademark);
+        }
+        patentRepository.saveAll(patents);
+        trademarkRepository.saveAll(trademarks);
+    }
+
+    @Test
+    void patentPagesCoverEveryRowOnceInEitherDirection() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            assertEquals(expected("patents", "filing_date", direction), patentIds(Sort.by(direction, "filingDate")),
+                    direction::toString);
+            assertEquals(expected("patents", "citation_count", direction),
+                    patentIds(Sort.by(direction, "citationCount")), direction::toString);
+            assertEquals(expected("patents", "id", direction), patentIds(Sort.by(direction, "id")),
+                    direction::toString);
+        }
+    }
+
+    @Test
+    void trademarkPagesCoverEveryRowOnceInEitherDirection() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            assertEquals(expected("trademarks", "filing_date", direction),
+                    trademarkIds(Sort.by(direction, "filingDate")), direction::toString);
+        }
+    }
+
+    @Test
+    void cursorIsRejectedForAnotherSearchOrSort() {
+        PatentSearchRequest request = patentRequest();
+        Pageable firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "filingDate"));
+        String cursor = ipService.searchPatents(request, firstPage, false, null).getNextCursor();
+        assertNotNull(cursor);
+
+        PatentSearchRequest otherFilters = patentRequest();
+        otherFilters.setJurisdiction("EP");
+        assertThrows(IllegalArgumentException.class,
+                () -> ipService.searchPatents(otherFilters, firstPage, false, cursor));
+        assertThrows(IllegalArgumentException.class, () -> ipService.searchPatents(request,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "filingDate")), false, cursor));
+
+        // Case and whitespace do not make it another search
+        PatentSearchRequest sameFilters = patentRequest();
+        sameFilters.setJurisdiction(" ks ");
+        assertEquals(PAGE_SIZE, ipService.searchPatents(sameFilters, firstPage, false, cursor).getPatents().size());
+    }
+
+    private List<Long> patentIds(Sort sort) {
+        PatentSearchRequest request = patentRequest();
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PatentSearchResponse page = ipService.searchPatents(request, PageRequest.of(0, PAGE_SIZE, sort), false, cursor);
+            page.getPatents().stream().map(PatentDTO::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> trademarkIds(Sort sort) {
+        TrademarkSearchRequest request = new TrademarkSearchRequest();
+        request.setJurisdiction("KS");
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TrademarkSearchResponse page = ipService.searchTrademarks(request, PageRequest.of(0, PAGE_SIZE, sort), cursor);
+            page.getTrademarks().stream().map(TrademarkDTO::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> expected(String table, String column, Sort.Direction direction) {
+        String order = direction.isAscending() ? " ASC" : " DESC";
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE jurisdiction = 'KS' ORDER BY "
+                + column + order + ", id" + order, Long.class);
+        assertEquals(24, ids.size());
+        return ids;
+    }
+
+    private static PatentSearchRequest patentRequest() {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setJurisdiction("KS");
+        return request;
+    }
+}
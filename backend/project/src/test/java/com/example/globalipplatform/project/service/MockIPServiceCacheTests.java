@@ -0,0 +1,146 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentFacetsDTO;
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.DTO.TrademarkSearchRequest;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.entity.Trademark;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.repository.TrademarkRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The search caches must work for every entry point, including overloads and the facets a search asks for,
+// which MockIPService reaches through its own methods
+@SpringJUnitConfig(MockIPServiceCacheTests.Config.class)
+class MockIPServiceCacheTests {
+
+    @Configuration
+    @EnableCaching
+    @Import(MockIPService.class)
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Autowired
+    private IPService ipService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private PatentRepository patentRepository;
+
+    @MockitoBean
+    private TrademarkRepository trademarkRepository;
+
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+
+    @MockitoBean
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "filingDate"));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void stubRepositories() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(patentRepository, trademarkRepository);
+
+        Patent patent = new Patent();
+        patent.setId(1L);
+        patent.setAssetNumber("US-1");
+        when(patentRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(patent), invocation.getArgument(1), 1));
+        when(patentRepository.countFacets(any())).thenReturn(new PatentFacetsDTO());
+
+        Trademark trademark = new Trademark();
+        trademark.setId(2L);
+        trademark.setAssetNumber("TM-1");
+        when(trademarkRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(trademark), invocation.getArgument(1), 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repeatedPatentSearchQueriesTheRepositoryOnce() {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setJurisdiction("US");
+
+        ipService.searchPatents(request, pageable);
+        ipService.searchPatents(request, pageable);
+        // The 3-arg overload without facets is the same search
+        ipService.searchPatents(request, pageable, false);
+
+        verify(patentRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void differentSearchesAreCachedApart() {
+        PatentSearchRequest us = new PatentSearchRequest();
+        us.setJurisdiction("US");
+        PatentSearchRequest ep = new PatentSearchRequest();
+        ep.setJurisdiction("EP");
+
+        ipService.searchPatents(us, pageable);
+        ipService.searchPatents(ep, pageable);
+        ipService.searchPatents(us, pageable);
+
+        verify(patentRepository, times(2)).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    // Facets computed for a search are the ones later facet requests are served from
+    @Test
+    void facetsOfASearchGoThroughTheFacetCache() {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setStatus("GRANTED");
+
+        ipService.searchPatents(request, pageable, true);
+        ipService.getPatentFacets(request);
+        ipService.searchPatents(request, PageRequest.of(1, 10, pageable.getSort()), true);
+
+        verify(patentRepository, times(1)).countFacets(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repeatedTrademarkSearchQueriesTheRepositoryOnce() {
+        TrademarkSearchRequest request = new TrademarkSearchRequest();
+        request.setOwner("Acme");
+
+        ipService.searchTrademarks(request, pageable);
+        ipService.searchTrademarks(request, pageable);
+
+        verify(trademarkRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        assertEquals(1, ipService.searchTrademarks(request, pageable).getTrademarks().size());
+    }
+}
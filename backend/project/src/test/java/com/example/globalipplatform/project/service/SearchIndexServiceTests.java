@@ -0,0 +1,146 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.PatentSearchRequest;
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The index lives in a temp directory per context. Each test uses its own title word, so its hits are
+// only the patents it wrote.
+class SearchIndexServiceTests extends PostgresIntegrationTests {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Rows written without JPA raise no change events; only a sync brings them into the index
+    @Test
+    void syncPicksUpRowsWrittenOutsideJpa() throws Exception {
+        long id = insertWithJdbc("SYNC-1", "Perovskite tandem cell");
+        assertEquals(List.of(), search("perovskite"));
+
+        searchIndexService.syncFromDatabase();
+        assertEquals(List.of(id), search("perovskite"));
+
+        jdbcTemplate.update("UPDATE patents SET title = ?, updated_at = ? WHERE id = ?",
+                "Kesterite tandem cell", LocalDateTime.now().plusSeconds(1), id);
+        searchIndexService.syncFromDatabase();
+        assertEquals(List.of(), search("perovskite"));
+        assertEquals(List.of(id), search("kesterite"));
+    }
+
+    @Test
+    void savesAndDeletesThroughJpaReachTheIndexOnCommit() throws Exception {
+        Patent patent = patentRepository.save(patent("EVENT-1", "Magnetocaloric refrigerator", p -> {
+        }));
+        searchIndexService.refreshIndex();
+        assertEquals(List.of(patent.getId()), search("magnetocaloric"));
+
+        patent.setTitle("Electrocaloric refrigerator");
+        patentRepository.save(patent);
+        searchIndexService.refreshIndex();
+        assertEquals(List.of(), search("magnetocaloric"));
+        assertEquals(List.of(patent.getId()), search("electrocaloric"));
+
+        patentRepository.delete(patent);
+        searchIndexService.refreshIndex();
+        assertEquals(List.of(), search("electrocaloric"));
+    }
+
+    // Deletes that bypass JPA are only noticed by a rebuild
+    @Test
+    void rebuildDropsRowsDeletedOutsideJpa() throws Exception {
+        long id = insertWithJdbc("REBUILD-1", "Thermophotovoltaic emitter");
+        searchIndexService.syncFromDatabase();
+        assertEquals(List.of(id), search("thermophotovoltaic"));
+
+        jdbcTemplate.update("DELETE FROM patents WHERE id = ?", id);
+        searchIndexService.rebuildIndex();
+        assertEquals(List.of(), search("thermophotovoltaic"));
+    }
+
+    // Jurisdiction, status and technology match regardless of case and surrounding spaces
+    @Test
+    void filtersNarrowTheMatches() throws Exception {
+        Patent us = patentRepository.save(patent("FILTER-1", "Ferroelectric memory", p -> {
+            p.setJurisdiction("US");
+            p.setStatus("GRANTED");
+            p.setTechnology("Electronics");
+            p.setAssignee("Samsung Electronics");
+            p.setFilingDate(LocalDateTime.of(2019, 6, 1, 0, 0));
+        }));
+        Patent ep = patentRepository.save(patent("FILTER-2", "Ferroelectric capacitor", p -> {
+            p.setJurisdiction("EP");
+            p.setStatus("PENDING");
+            p.setTechnology("Energy");
+            p.setAssignee("Siemens AG");
+            p.setFilingDate(LocalDateTime.of(2021, 6, 1, 0, 0));
+        }));
+        searchIndexService.refreshIndex();
+
+        assertEquals(Set.of(us.getId(), ep.getId()), Set.copyOf(search("ferroelectric")));
+        assertEquals(List.of(us.getId()), search("ferroelectric", r -> r.setJurisdiction(" us ")));
+        assertEquals(List.of(ep.getId()), search("ferroelectric", r -> r.setStatus("pending")));
+        assertEquals(List.of(us.getId()), search("ferroelectric", r -> r.setTechnology("electronics")));
+        assertEquals(List.of(ep.getId()), search("ferroelectric", r -> r.setTechnology(" ENERGY")));
+        assertEquals(List.of(us.getId()), search("ferroelectric", r -> r.setAssignee("sams elec")));
+        assertEquals(List.of(ep.getId()), search("ferroelectric", r -> r.setYearFrom(2020)));
+        assertEquals(List.of(us.getId()), search("ferroelectric", r -> r.setYearTo(2019)));
+        assertEquals(List.of(), search("ferroelectric", r -> {
+            r.setJurisdiction("US");
+            r.setTechnology("Energy");
+        }));
+
+        // Facets keep the technology as stored
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setQuery("ferroelectric");
+        assertTrue(searchIndexService.facetPatents(request).getTechnologies().containsKey("Electronics"));
+    }
+
+    private List<Long> search(String query) throws Exception {
+        return search(query, request -> {
+        });
+    }
+
+    private List<Long> search(String query, Consumer<PatentSearchRequest> filters) throws Exception {
+        PatentSearchRequest request = new PatentSearchRequest();
+        request.setQuery(query);
+        filters.accept(request);
+        return searchIndexService.searchPatents(request, 0, 10, Sort.unsorted(), false).getIds();
+    }
+
+    private long insertWithJdbc(String assetNumber, String title) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('ip_asset_seq')", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO patents (id, asset_number, title, jurisdiction, status, created_at, updated_at)"
+                + " VALUES (?, ?, ?, 'US', 'GRANTED', ?, ?)", id, assetNumber, title, now, now);
+        return id;
+    }
+
+    private static Patent patent(String assetNumber, String title, Consumer<Patent> details) {
+        Patent patent = new Patent();
+        patent.setAssetNumber(assetNumber);
+        patent.setTitle(title);
+        patent.setJurisdiction("US");
+        patent.setStatus("GRANTED");
+        details.accept(patent);
+        return patent;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.globalipplatform.project.service;
+
+import com.example.globalipplatform.project.DTO.CorpusStatusDTO;
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.config.CorpusGeneratorProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Small partitions and batches, so several threads really do load partitions side by side and out of order.
+// Each run is compared by what ends up in the tables, minus ids and timestamps, and removed again.
+@TestPropertySource(properties = {
+        "mock.data.corpus.partition-size=100",
+        "mock.data.corpus.batch-size=40"
+})
+class SyntheticCorpusGeneratorTests extends PostgresIntegrationTests {
+
+    private static final List<String> UNSTABLE_COLUMNS = List.of("id", "created_at", "updated_at");
+
+    @Autowired
+    private SyntheticCorpusGenerator generator;
+
+    @Autowired
+    private CorpusGeneratorProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int configuredThreads;
+
+    @BeforeEach
+    void rememberThreads() {
+        configuredThreads = properties.getThreads();
+    }
+
+    @AfterEach
+    void restoreThreads() {
+        properties.setThreads(configuredThreads);
+    }
+
+    @Test
+    void sameSeedGivesTheSameCorpusWhateverTheThreadCount() throws Exception {
+        Map<String, List<String>> oneThread = generate(7, 1);
+        assertEquals(1200, oneThread.get("patents").size());
+        assertEquals(300, oneThread.get("trademarks").size());
+
+        assertEquals(oneThread, generate(7, 4));
+        assertEquals(oneThread, generate(7, 3));
+        assertNotEquals(oneThread, generate(8, 4));
+    }
+
+    private Map<String, List<String>> generate(long seed, int threads) throws Exception {
+        long lastPatent = maxId("patents");
+        long lastTrademark = maxId("trademarks");
+        properties.setThreads(threads);
+
+        CorpusStatusDTO status = generator.start(1200L, 300L, seed);
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (status.getState() == CorpusStatusDTO.State.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "corpus generation did not finish");
+            Thread.sleep(50);
+            status = generator.status();
+        }
+        assertEquals(CorpusStatusDTO.State.COMPLETED, status.getState(), status.getMessage());
+
+        Map<String, List<String>> corpus = Map.of(
+                "patents", rowsAfter("patents", lastPatent),
+                "trademarks", rowsAfter("trademarks", lastTrademark));
+        // Otherwise the next run would find the batches loaded and skip them
+        jdbcTemplate.update("DELETE FROM patents WHERE id > ?", lastPatent);
+        jdbcTemplate.update("DELETE FROM trademarks WHERE id > ?", lastTrademark);
+        return corpus;
+    }
+
+    private List<String> rowsAfter(String table, long lastId) {
+        return jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE id > ? ORDER BY asset_number", lastId)
+                .stream()
+                .map(row -> row.entrySet().stream()
+                        .filter(column -> !UNSTABLE_COLUMNS.contains(column.getKey()))
+                        .map(column -> column.getKey() + "=" + column.getValue())
+                        .collect(Collectors.joining("|")))
+                .collect(Collectors.toList());
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    }
+}
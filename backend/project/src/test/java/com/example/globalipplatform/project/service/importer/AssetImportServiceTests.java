@@ -0,0 +1,150 @@
+package com.example.globalipplatform.project.service.importer;
+
+import com.example.globalipplatform.project.DTO.ImportStatusDTO;
+import com.example.globalipplatform.project.PostgresIntegrationTests;
+import com.example.globalipplatform.project.entity.Patent;
+import com.example.globalipplatform.project.repository.PatentRepository;
+import com.example.globalipplatform.project.service.BulkIngestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+// Batches of 5, and the third upsert fails once: the first run commits 10 records and stops, the next run
+// on the same file starts at record 11.
+@TestPropertySource(properties = "ip.import.batch-size=5")
+class AssetImportServiceTests extends PostgresIntegrationTests {
+
+    private static final Path DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void importDirectory(DynamicPropertyRegistry registry) {
+        registry.add("ip.import.directory", DIRECTORY::toString);
+    }
+
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private PatentRepository patentRepository;
+
+    @MockitoSpyBean
+    private BulkIngestionService bulkIngestionService;
+
+    private final List<String> upserted = new ArrayList<>();
+    private final AtomicInteger upserts = new AtomicInteger();
+    private volatile int failingUpsert;
+
+    @BeforeEach
+    void recordUpserts() throws Exception {
+        doAnswer(invocation -> {
+            if (upserts.incrementAndGet() == failingUpsert) {
+                throw new IllegalStateException("connection lost");
+            }
+            List<Patent> patents = invocation.getArgument(0);
+            patents.forEach(patent -> upserted.add(patent.getAssetNumber()));
+            return invocation.callRealMethod();
+        }).when(bulkIngestionService).upsertPatents(anyList(), anyBoolean());
+    }
+
+    @Test
+    void resumesAfterTheLastCommittedBatch() throws Exception {
+        Path file = write("resume.jsonl", "RESUME", 23);
+        Path checkpoint = file.resolveSibling("resume.jsonl.checkpoint");
+
+        failingUpsert = 3;
+        ImportStatusDTO failed = importAndWait(file);
+        assertEquals(ImportStatusDTO.State.FAILED, failed.getState());
+        assertEquals(10, failed.getRecordsWritten());
+        assertEquals(numbers("RESUME", 1, 10), upserted);
+        assertTrue(Files.exists(checkpoint));
+
+        upserted.clear();
+        ImportStatusDTO resumed = importAndWait(file);
+        assertEquals(ImportStatusDTO.State.COMPLETED, resumed.getState());
+        assertEquals(10, resumed.getResumedFrom());
+        assertEquals(23, resumed.getRecordsRead());
+        assertEquals(13, resumed.getRecordsWritten());
+        assertEquals(numbers("RESUME", 11, 23), upserted);
+        assertFalse(Files.exists(checkpoint));
+
+        for (String number : numbers("RESUME", 1, 23)) {
+            assertNotNull(patentRepository.findByAssetNumber(number), number);
+        }
+    }
+
+    // A checkpoint only applies to the file it was written for; a changed file is read from the start
+    @Test
+    void startsOverWhenTheFileChanged() throws Exception {
+        Path file = write("changed.jsonl", "CHANGED", 12);
+
+        failingUpsert = 2;
+        assertEquals(ImportStatusDTO.State.FAILED, importAndWait(file).getState());
+
+        Files.writeString(file, line("CHANGED", 13), StandardOpenOption.APPEND);
+        upserted.clear();
+        ImportStatusDTO restarted = importAndWait(file);
+        assertEquals(ImportStatusDTO.State.COMPLETED, restarted.getState());
+        assertEquals(0, restarted.getResumedFrom());
+        assertEquals(numbers("CHANGED", 1, 13), upserted);
+    }
+
+    private ImportStatusDTO importAndWait(Path file) throws Exception {
+        ImportStatusDTO status = assetImportService.start(file.getFileName().toString(), null);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (status.getState() == ImportStatusDTO.State.RUNNING) {
+            assertTrue(System.currentTimeMillis() < deadline, "import did not finish");
+            Thread.sleep(20);
+            status = assetImportService.status();
+        }
+        return status;
+    }
+
+    private static Path write(String name, String prefix, int records) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i <= records; i++) {
+            lines.append(line(prefix, i));
+        }
+        return Files.writeString(DIRECTORY.resolve(name), lines);
+    }
+
+    private static String line(String prefix, int i) {
+        return "{\"assetNumber\":\"" + prefix + "-" + i + "\",\"title\":\"Imported patent " + i
+                + "\",\"jurisdiction\":\"US\",\"status\":\"GRANTED\"}\n";
+    }
+
+    private static List<String> numbers(String prefix, int from, int to) {
+        List<String> numbers = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            numbers.add(prefix + "-" + i);
+        }
+        return numbers;
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("imports");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import com.example.globalipplatform.project.config.FederatedSearchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingIPSourceProviderTests {
+
+    private static final Duration FRESH = Duration.ofMillis(50);
+
+    @Test
+    void servesTheCachedAnswerWithoutAskingAgain() {
+        SlowProvider office = new SlowProvider();
+        CachingIPSourceProvider cached = cache(office, 1, 1, Duration.ofSeconds(5), counter());
+
+        assertEquals("USPTO:battery", cached.search("battery").get(0).getId());
+        assertEquals("USPTO:battery", cached.search("  BATTERY ").get(0).getId());
+        assertEquals(1, office.calls.get());
+    }
+
+    // A refresh gets the provider's deadline: past it the call is interrupted and the stale answer stays
+    @Test
+    void interruptsARefreshAtTheDeadline() throws InterruptedException {
+        SlowProvider office = new SlowProvider();
+        CachingIPSourceProvider cached = cache(office, 1, 1, Duration.ofMillis(100), counter());
+        cached.search("battery");
+
+        office.blockFromNowOn();
+        Thread.sleep(FRESH.toMillis() * 2);
+        assertEquals("USPTO:battery", cached.search("battery").get(0).getId());
+
+        assertTrue(office.interrupted.await(2, TimeUnit.SECONDS), "refresh was not interrupted");
+        assertEquals("USPTO:battery", cached.search("battery").get(0).getId());
+    }
+
+    // One refresh runs, one waits, the third finds the pool full and is counted
+    @Test
+    void countsRefreshesTheFullPoolSkips() throws InterruptedException {
+        SlowProvider office = new SlowProvider();
+        Counter rejected = counter();
+        CachingIPSourceProvider cached = cache(office, 1, 1, Duration.ofSeconds(5), rejected);
+        List<String> queries = List.of("battery", "drone", "lidar");
+        queries.forEach(cached::search);
+
+        office.blockFromNowOn();
+        Thread.sleep(FRESH.toMillis() * 2);
+        queries.forEach(cached::search);
+
+        assertEquals(1, rejected.count());
+        office.release.countDown();
+    }
+
+    private static CachingIPSourceProvider cache(IPSourceProvider office, int threads, int queue, Duration timeout,
+                                                 Counter rejected) {
+        FederatedSearchProperties.ResultCache settings = new FederatedSearchProperties.ResultCache();
+        settings.setFresh(FRESH);
+        settings.setRefreshThreads(threads);
+        settings.setRefreshQueueCapacity(queue);
+        return new CachingIPSourceProvider(office, settings, timeout, rejected);
+    }
+
+    private static Counter counter() {
+        return new SimpleMeterRegistry().counter("ip.provider.cache.refresh.rejected");
+    }
+
+    // Answers at once until told to block; blocked calls wait for release or an interrupt
+    private static class SlowProvider implements IPSourceProvider {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile boolean blocking;
+
+        void blockFromNowOn() {
+            blocking = true;
+        }
+
+        @Override
+        public String getSourceName() {
+            return "USPTO";
+        }
+
+        @Override
+        public List<IPDataDTO> search(String query) {
+            calls.incrementAndGet();
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted", e);
+                }
+            }
+            return List.of(IPDataDTO.builder().id("USPTO:" + query).title(query).build());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.globalipplatform.project.service.ip;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTests {
+
+    private static final Duration OPEN = Duration.ofMillis(50);
+
+    @Test
+    void closedOpenHalfOpenClosed() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, OPEN, 2);
+
+        // Below minimumCalls a failure rate of 100% does not open it yet
+        fail(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        Thread.sleep(OPEN.toMillis() + 20);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        // Only halfOpenProbes calls at a time
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        // Closing starts a fresh window
+        assertEquals(0, breaker.failureRate());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void aFailedProbeReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 50, OPEN, 3);
+        fail(breaker, 2);
+        Thread.sleep(OPEN.toMillis() + 20);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensAtTheThresholdOverTheSlidingWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, OPEN, 1);
+        succeed(breaker, 3);
+        fail(breaker, 1);
+        assertEquals(25, breaker.failureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // The oldest success drops out of the window: 2 failures in 4 calls
+        fail(breaker, 1);
+        assertEquals(50, breaker.failureRate());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void outcomesReportedWhileOpenAreIgnored() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, Duration.ofMinutes(1), 1);
+        fail(breaker, 2);
+        double rate = breaker.failureRate();
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(rate, breaker.failureRate());
+    }
+
+    @Test
+    void releasedProbePermitsCanBeTakenAgain() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(10, 1, 50, OPEN, 1);
+        fail(breaker, 1);
+        Thread.sleep(OPEN.toMillis() + 20);
+
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.release();
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.IPDataDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FederatedResultMergerTests {
+
+    @Test
+    void joinsFilingsOfTheSameFamilyAcrossOffices() {
+        IPDataDTO uspto = patent("US-1", "USPTO", "US 17/123,456", "FAM-1", "Solar cell");
+        IPDataDTO epo = patent("EP-1", "EPO", "EP 21 123 456", "fam-1", "Solar cell");
+        epo.setApplicant("Siemens AG");
+
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(List.of(uspto, epo), "solar", 10);
+
+        assertEquals(1, merged.getDistinctCount());
+        IPDataDTO kept = merged.getTop().get(0);
+        assertEquals("US-1", kept.getId());
+        assertEquals(List.of("EPO"), kept.getAlsoFoundIn());
+        // The first result's gaps are filled from the duplicate
+        assertEquals("Siemens AG", kept.getApplicant());
+    }
+
+    @Test
+    void joinsOnNormalizedApplicationNumberWhenThereIsNoFamily() {
+        IPDataDTO wipo = patent("WO-1", "WIPO", "PCT/EP2023/012345", null, "Battery");
+        wipo.setApplicationDate(LocalDate.of(2023, 5, 1));
+        IPDataDTO epo = patent("EP-2", "EPO", "pct ep 2023 012345", "FAM-9", "Battery");
+        epo.setApplicationDate(LocalDate.of(2023, 3, 1));
+
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(List.of(wipo, epo), "battery", 10);
+
+        assertEquals(1, merged.getDistinctCount());
+        IPDataDTO kept = merged.getTop().get(0);
+        assertEquals("WO-1", kept.getId());
+        assertEquals(List.of("EPO"), kept.getAlsoFoundIn());
+        assertEquals("FAM-9", kept.getFamilyId());
+        assertEquals(LocalDate.of(2023, 3, 1), kept.getApplicationDate());
+    }
+
+    // A later result can link two identities: it joins by number, and its family then leads to the same result
+    @Test
+    void aResultJoinedByNumberAlsoCarriesItsFamily() {
+        IPDataDTO first = patent("A", "USPTO", "US-100", null, "Drone");
+        IPDataDTO second = patent("B", "EPO", "US-100", "FAM-7", "Drone");
+        IPDataDTO third = patent("C", "WIPO", "WO-555", "FAM-7", "Drone");
+
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(List.of(first, second, third), "drone", 10);
+
+        assertEquals(1, merged.getDistinctCount());
+        assertEquals(List.of("EPO", "WIPO"), merged.getTop().get(0).getAlsoFoundIn());
+    }
+
+    @Test
+    void patentsAndTrademarksWithTheSameNumberStayApart() {
+        IPDataDTO patent = patent("P", "USPTO", "123456", null, "Nova");
+        IPDataDTO mark = patent("T", "TMView", "123456", null, "Nova");
+        mark.setType("TRADEMARK");
+
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(List.of(patent, mark), "nova", 10);
+
+        assertEquals(2, merged.getDistinctCount());
+    }
+
+    @Test
+    void doesNotModifyTheProvidersResults() {
+        IPDataDTO uspto = patent("US-1", "USPTO", "US-1", "FAM-1", "Lidar");
+        IPDataDTO epo = patent("EP-1", "EPO", "EP-1", "FAM-1", "Lidar");
+
+        FederatedResultMerger.merge(List.of(uspto, epo), "lidar", 10);
+
+        assertNull(uspto.getAlsoFoundIn());
+        assertNull(uspto.getScore());
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatchesAndCutsToTheLimit() {
+        IPDataDTO inTitle = patent("1", "USPTO", "N1", null, "Heat pump");
+        IPDataDTO inDescription = patent("2", "USPTO", "N2", null, "Compressor");
+        inDescription.setDescription("A heat pump compressor");
+        IPDataDTO neither = patent("3", "USPTO", "N3", null, "Catalyst");
+
+        FederatedResultMerger.Merged merged = FederatedResultMerger.merge(
+                List.of(neither, inDescription, inTitle), "heat pump", 2);
+
+        assertEquals(3, merged.getDistinctCount());
+        assertEquals(List.of("1", "2"), ids(merged.getTop()));
+        assertTrue(merged.getTop().get(0).getScore() > merged.getTop().get(1).getScore());
+    }
+
+    // Equal scores: newest application first, results without a date last, then by id
+    @Test
+    void breaksScoreTiesByApplicationDateThenId() {
+        List<IPDataDTO> found = new ArrayList<>();
+        found.add(dated("b", null));
+        found.add(dated("d", LocalDate.of(2020, 1, 1)));
+        found.add(dated("a", null));
+        found.add(dated("c", LocalDate.of(2022, 1, 1)));
+        found.add(dated("e", LocalDate.of(2020, 1, 1)));
+
+        assertEquals(List.of("c", "d", "e", "a", "b"),
+                ids(FederatedResultMerger.merge(found, "sensor", 10).getTop()));
+        // The heap keeps the same order when it has to cut
+        assertEquals(List.of("c", "d", "e"), ids(FederatedResultMerger.merge(found, "sensor", 3).getTop()));
+    }
+
+    @Test
+    void normalizesKeys() {
+        assertEquals("PATENT:PCTEP2023012345", FederatedResultMerger.key("patent", "PCT/EP2023/012345"));
+        assertNull(FederatedResultMerger.key("PATENT", " - / "));
+        assertNull(FederatedResultMerger.key("PATENT", null));
+    }
+
+    private static IPDataDTO dated(String id, LocalDate applicationDate) {
+        IPDataDTO result = patent(id, "USPTO", "N-" + id, null, "Sensor array");
+        result.setApplicationDate(applicationDate);
+        return result;
+    }
+
+    private static IPDataDTO patent(String id, String source, String applicationNumber, String familyId,
+                                    String title) {
+        return IPDataDTO.builder()
+                .id(id)
+                .source(source)
+                .type("PATENT")
+                .applicationNumber(applicationNumber)
+                .familyId(familyId)
+                .title(title)
+                .build();
+    }
+
+    private static List<String> ids(List<IPDataDTO> results) {
+        return results.stream().map(IPDataDTO::getId).collect(Collectors.toList());
+    }
+}
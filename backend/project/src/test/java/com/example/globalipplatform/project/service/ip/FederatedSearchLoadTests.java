@@ -0,0 +1,230 @@
+package com.example.globalipplatform.project.service.ip;
+
+import com.example.globalipplatform.project.DTO.FederatedSearchResponse;
+import com.example.globalipplatform.project.DTO.SourceStatusDTO;
+import com.example.globalipplatform.project.config.FederatedSearchProperties;
+import com.example.globalipplatform.project.config.MockOfficeProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Load driver: 200 searches released at once against MockOfficeServer over HTTP, through the same
+// bulkheads, deadlines, breakers and rate limiters as in production. The result cache is off so every
+// search reaches the offices. Client and server share the machine, so the latency budget is set well
+// above what a single CPU needs for the 800 requests; each run prints its actual percentiles.
+class FederatedSearchLoadTests {
+
+    private static final int SEARCHES = 200;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final long P99_BUDGET_MS = 3000;
+    private static final List<String> QUERIES = List.of(
+            "battery", "solar cell", "drone", "lidar", "heat pump", "neural network", "sensor array", "nova",
+            "zenith", "catalyst");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    // One unmeasured round first, so JIT compilation and connection setup are not counted against a test
+    @BeforeAll
+    static void warmUp() throws Exception {
+        try (Federation federation = Federation.start(officeProperties())) {
+            drive(federation.service);
+        }
+    }
+
+    @Test
+    void healthyOfficesAnswerEverySearchInTime() throws Exception {
+        try (Federation federation = Federation.start(officeProperties())) {
+            Load load = drive(federation.service);
+
+            assertEquals(List.of(), load.errors);
+            assertEquals(SEARCHES, load.responses.size());
+            for (FederatedSearchResponse response : load.responses) {
+                assertFalse(response.isPartial(), () -> "partial: " + response.getSources());
+                for (SourceStatusDTO status : response.getSources()) {
+                    assertEquals(SourceStatusDTO.Status.OK, status.getStatus(), status::toString);
+                }
+                assertFalse(response.getResults().isEmpty());
+            }
+            assertTrue(load.percentile(99) < P99_BUDGET_MS, () -> "p99 " + load.percentile(99) + " ms");
+        }
+    }
+
+    // EPO fails 30% of requests and WIPO throttles at 5/s: searches still return, on time, with the
+    // healthy offices' results, and WIPO's breaker opens instead of every search waiting on it
+    @Test
+    void failingAndThrottledOfficesOnlyDegradeTheirOwnResults() throws Exception {
+        MockOfficeProperties offices = officeProperties();
+        offices.getOffices().put("EPO", behaviour(0.3, 0));
+        offices.getOffices().put("WIPO", behaviour(0, 5));
+        try (Federation federation = Federation.start(offices)) {
+            Load load = drive(federation.service);
+
+            assertEquals(List.of(), load.errors);
+            assertEquals(SEARCHES, load.responses.size());
+            int epoFailures = 0;
+            int wipoAnswers = 0;
+            for (FederatedSearchResponse response : load.responses) {
+                for (SourceStatusDTO status : response.getSources()) {
+                    boolean ok = status.getStatus() == SourceStatusDTO.Status.OK;
+                    switch (status.getSource()) {
+                        case "USPTO", "TMView" -> assertTrue(ok, status::toString);
+                        case "EPO" -> epoFailures += ok ? 0 : 1;
+                        case "WIPO" -> wipoAnswers += ok ? 1 : 0;
+                        default -> throw new AssertionError("unexpected source " + status.getSource());
+                    }
+                }
+                boolean allOk = response.getSources().stream()
+                        .allMatch(status -> status.getStatus() == SourceStatusDTO.Status.OK);
+                assertEquals(!allOk, response.isPartial());
+            }
+            int answered = wipoAnswers;
+            assertTrue(epoFailures > 0, "EPO never failed");
+            assertTrue(answered < SEARCHES / 2, () -> "WIPO answered " + answered + " searches");
+            assertEquals(CircuitBreaker.State.OPEN, federation.breaker("WIPO").getState());
+            assertNotEquals(CircuitBreaker.State.OPEN, federation.breaker("USPTO").getState());
+            assertNotEquals(CircuitBreaker.State.OPEN, federation.breaker("TMView").getState());
+            assertTrue(load.percentile(99) < P99_BUDGET_MS, () -> "p99 " + load.percentile(99) + " ms");
+            // No search waits past the provider deadline
+            assertTrue(load.percentile(100) < TIMEOUT.toMillis() + 1000, () -> "max " + load.percentile(100) + " ms");
+        }
+    }
+
+    private static Load drive(IPSearchService service) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(SEARCHES);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Long>> started = new ArrayList<>();
+        Load load = new Load();
+        try {
+            for (int i = 0; i < SEARCHES; i++) {
+                String query = QUERIES.get(i % QUERIES.size());
+                started.add(clients.submit(() -> {
+                    go.await();
+                    long start = System.nanoTime();
+                    FederatedSearchResponse response = service.search(query, "ALL", 20);
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    synchronized (load) {
+                        load.responses.add(response);
+                    }
+                    return millis;
+                }));
+            }
+            go.countDown();
+            for (Future<Long> search : started) {
+                try {
+                    load.latencies.add(search.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    load.errors.add(e.getCause());
+                } catch (TimeoutException e) {
+                    load.errors.add(e);
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        Collections.sort(load.latencies);
+        System.out.println("Load: " + SEARCHES + " searches, p50 " + load.percentile(50) + " ms, p99 "
+                + load.percentile(99) + " ms, max " + load.percentile(100) + " ms, " + load.errors.size() + " errors");
+        return load;
+    }
+
+    private static MockOfficeProperties officeProperties() {
+        MockOfficeProperties properties = new MockOfficeProperties();
+        properties.setCorpusSize(2000);
+        properties.setThreads(128);
+        properties.setMaxResults(20);
+        properties.getDefaults().setLatencyMedian(Duration.ofMillis(20));
+        properties.getDefaults().setLatencySigma(0.3);
+        return properties;
+    }
+
+    private static MockOfficeProperties.Behaviour behaviour(double errorRate, double ratePerSecond) {
+        MockOfficeProperties.Behaviour behaviour = new MockOfficeProperties.Behaviour();
+        behaviour.setLatencyMedian(Duration.ofMillis(20));
+        behaviour.setLatencySigma(0.3);
+        behaviour.setErrorRate(errorRate);
+        behaviour.setRatePerSecond(ratePerSecond);
+        return behaviour;
+    }
+
+    // The offices plus an IPSearchService calling them over HTTP
+    private static class Federation implements AutoCloseable {
+        private final MockOfficeServer server;
+        private final ProviderResilienceRegistry resilience;
+        private final IPSearchService service;
+
+        private Federation(MockOfficeServer server, ProviderResilienceRegistry resilience, IPSearchService service) {
+            this.server = server;
+            this.resilience = resilience;
+            this.service = service;
+        }
+
+        static Federation start(MockOfficeProperties offices) throws IOException {
+            MockOfficeServer server = new MockOfficeServer(offices, OBJECT_MAPPER);
+            server.start();
+
+            FederatedSearchProperties properties = new FederatedSearchProperties();
+            properties.setDefaultTimeout(TIMEOUT);
+            properties.setThreadsPerProvider(32);
+            properties.setQueueCapacity(SEARCHES);
+            properties.getResultCache().setEnabled(false);
+            // Our own limiter must not be what holds the offices back here
+            properties.getResilience().setRatePerSecond(10_000);
+            properties.getResilience().setBurst(10_000);
+            ProviderResilienceRegistry resilience = new ProviderResilienceRegistry(properties, new SimpleMeterRegistry());
+
+            List<IPSourceProvider> providers = new ArrayList<>();
+            for (String office : MockOfficeServer.OFFICES) {
+                providers.add(new HttpIPSourceProvider(office, server.getBaseUrl(), Duration.ofSeconds(1), OBJECT_MAPPER));
+            }
+            return new Federation(server, resilience, new IPSearchService(providers, properties, resilience));
+        }
+
+        CircuitBreaker breaker(String source) {
+            return resilience.getGuarded().stream()
+                    .filter(provider -> provider.getSourceName().equals(source))
+                    .findFirst()
+                    .orElseThrow()
+                    .getCircuitBreaker();
+        }
+
+        @Override
+        public void close() {
+            service.shutdown();
+            server.stop();
+        }
+    }
+
+    private static class Load {
+        private final List<FederatedSearchResponse> responses = new ArrayList<>();
+        private final List<Long> latencies = new ArrayList<>();
+        private final List<Throwable> errors = new ArrayList<>();
+
+        // Nearest-rank percentile of the sorted latencies, in ms
+        private long percentile(int p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100.0 * latencies.size());
+            return latencies.get(Math.max(rank, 1) - 1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.globalipplatform.project.service.ip;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+    @Test
+    void startsFullAndRefusesOnceDrained() {
+        TokenBucket bucket = new TokenBucket(1, 1, 3);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void refillsAtTheRateUpToCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 1, 5);
+        drain(bucket);
+
+        // 100/s for 50 ms is about 5 tokens
+        Thread.sleep(50);
+        double available = bucket.getAvailableTokens();
+        assertTrue(available >= 4 && available <= 5, () -> available + " tokens");
+
+        // Never more than capacity, however long it sat idle
+        Thread.sleep(100);
+        assertEquals(5, bucket.getAvailableTokens());
+    }
+
+    @Test
+    void failuresHalveTheRateDownToTheMinimum() {
+        TokenBucket bucket = new TokenBucket(40, 4, 10);
+
+        bucket.onFailure();
+        assertEquals(20, bucket.getRate());
+        bucket.onFailure();
+        assertEquals(10, bucket.getRate());
+        bucket.onFailure();
+        assertEquals(5, bucket.getRate());
+        bucket.onFailure();
+        assertEquals(4, bucket.getRate());
+    }
+
+    @Test
+    void successesRaiseTheRateByATenthOfTheMaximum() {
+        TokenBucket bucket = new TokenBucket(40, 4, 10);
+        bucket.onFailure();
+        bucket.onFailure();
+
+        bucket.onSuccess();
+        assertEquals(14, bucket.getRate());
+        for (int i = 0; i < 10; i++) {
+            bucket.onSuccess();
+        }
+        assertEquals(40, bucket.getRate());
+    }
+
+    // After a back-off tokens come back at the lower rate
+    @Test
+    void refillsSlowerAfterBackingOff() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(200, 1, 50);
+        bucket.onFailure();
+        bucket.onFailure();
+        bucket.onFailure();
+        drain(bucket);
+
+        // 25/s for 100 ms is about 2.5 tokens, where 200/s would have given 20
+        Thread.sleep(100);
+        double available = bucket.getAvailableTokens();
+        assertTrue(available >= 2 && available < 10, () -> available + " tokens");
+    }
+
+    private static void drain(TokenBucket bucket) {
+        while (bucket.tryAcquire()) {
+            // take every token
+        }
+    }
+}